@@ -1,59 +1,100 @@
 package br.com.fuctura;
 
-import br.com.fuctura.dao.BookDAO;
-import br.com.fuctura.dao.CategoryDAO;
-import br.com.fuctura.entity.Book;
-import br.com.fuctura.entity.Category;
-
-import java.util.List;
+import br.com.fuctura.catalog.CatalogExporter;
+import br.com.fuctura.catalog.CatalogImporter;
+import br.com.fuctura.catalog.ExportOptions;
+import br.com.fuctura.catalog.ImportOptions;
+import br.com.fuctura.loadtest.LibraryDatasetGenerator;
+import br.com.fuctura.loadtest.LoadTestOptions;
+import br.com.fuctura.loadtest.LoadTestReport;
+import br.com.fuctura.loadtest.MixedWorkload;
+import br.com.fuctura.util.JPAUtils;
 
+import java.io.IOException;
 
+// Ferramenta de carga: gera um acervo sintético e/ou executa uma carga mista medindo latências,
+// ou importa/exporta o catálogo (CSV/JSONL).
+// Usa o banco configurado no db.properties (ex: generate --books=1000000 e depois run --threads=32).
 public class Application {
-    public static void main(String[] args) {
-        Book mybook = new Book();
-        Category category = new Category();
-//
-//        mybook.setTitle("My Book6");
-//        mybook.setAuthor("Autor6");
-//        mybook.setSynopsis("My Booo Synopsis");
-//        mybook.setIsbn("1238687878");
-//        mybook.setReleaseYear(java.sql.Date.valueOf("2020-01-05"));
-//
-         BookDAO dao = new BookDAO();
-         dao.existsById(2L);
-
-         System.out.println(dao.findById(2L));
 
-         dao.deleteById(2L);
-//
-        List<Book> allBooks = dao.findAll();
-        System.out.println("==== Lista de todos os livros ====");
-        for (Book book : allBooks) {
-            System.out.println(book);
+    public static void main(String[] args) throws InterruptedException, IOException {
+        if (args.length == 0) {
+            System.out.println(LoadTestOptions.USAGE);
+            System.out.println(ImportOptions.USAGE);
+            System.out.println(ExportOptions.USAGE);
+            return;
         }
-//
-        category.setName("Category 1");
-        category.setDescription("Description 1");
-
-        CategoryDAO categoryDao = new CategoryDAO();
-//        categoryDao.save(category);
-//
-//        category.setName("Category 2");
-//        category.setDescription("Description 2");
-//
-//        categoryDao.save(category);
-//
-        List<Category> allCategories = categoryDao.findAll();
-        System.out.println("==== Lista de todos as categorias ====");
-        for (Category categories : allCategories) {
-            System.out.println(categories);
+        if (args[0].equals("import")) {
+            importCatalog(args);
+            return;
+        }
+        if (args[0].equals("export")) {
+            exportCatalog(args);
+            return;
         }
 
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args, 1);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
 
+        String mode = args[0];
+        if (!mode.equals("generate") && !mode.equals("run") && !mode.equals("all")) {
+            System.err.println("Modo desconhecido: " + mode);
+            System.err.println(LoadTestOptions.USAGE);
+            System.exit(2);
+        }
 
-        dao.close();
-
+        try {
+            if (!mode.equals("run")) {
+                new LibraryDatasetGenerator(options.seed()).generate(options.categories(), options.books(), options.reset());
+            }
+            if (!mode.equals("generate")) {
+                LoadTestReport report = new MixedWorkload(options).run();
+                report.print(System.out);
+                System.out.println(JPAUtils.getConnectionPoolStats());
+            }
+        } finally {
+            JPAUtils.closeEntityManagerFactory();
+        }
+    }
 
+    private static void importCatalog(String[] args) throws InterruptedException, IOException {
+        ImportOptions options;
+        try {
+            options = ImportOptions.parse(args, 1);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(ImportOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        try {
+            new CatalogImporter(options).run().print(System.out);
+        } finally {
+            JPAUtils.closeEntityManagerFactory();
+        }
+    }
 
+    private static void exportCatalog(String[] args) throws IOException {
+        ExportOptions options;
+        try {
+            options = ExportOptions.parse(args, 1);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(ExportOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        try {
+            new CatalogExporter(options).run().print(System.out);
+        } finally {
+            JPAUtils.closeEntityManagerFactory();
+        }
     }
-}
\ No newline at end of file
+}
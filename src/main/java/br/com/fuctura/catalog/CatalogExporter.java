@@ -0,0 +1,158 @@
+package br.com.fuctura.catalog;
+
+import br.com.fuctura.util.JPAUtils;
+import br.com.fuctura.util.ReadOnlyConnections;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+// Exporta o catálogo para CSV/JSONL com memória constante: um cursor (scroll FORWARD_ONLY) sobre uma projeção
+// das colunas pedidas, sem entidades no contexto de persistência, escrito direto num FileChannel por um buffer
+// de bytes (opcionalmente comprimido com gzip).
+public class CatalogExporter {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final long PROGRESS_EVERY = 100_000;
+
+    private final ExportOptions options;
+
+    public CatalogExporter(ExportOptions options) {
+        this.options = options;
+    }
+
+    public ExportResult run() throws IOException {
+        long start = System.nanoTime();
+        // progress chega a cada fetchSize linhas, que não precisa dividir PROGRESS_EVERY
+        long[] nextReport = {PROGRESS_EVERY};
+        return run(rows -> {
+            if (rows >= nextReport[0]) {
+                while (rows >= nextReport[0]) {
+                    nextReport[0] += PROGRESS_EVERY;
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("📤 %,d livros exportados (%.0f livros/s)%n", rows, rows / seconds);
+            }
+        });
+    }
+
+    // progress recebe o total de linhas escritas a cada fetchSize linhas
+    public ExportResult run(LongConsumer progress) throws IOException {
+        long start = System.nanoTime();
+        List<ExportColumn> columns = options.columns();
+        String jpql = "SELECT " + columns.stream().map(ExportColumn::path).collect(Collectors.joining(", "))
+                + " FROM Book b LEFT JOIN b.category c ORDER BY b.id";
+
+        SessionFactory sessionFactory = JPAUtils.getEntityManagerFactory().unwrap(SessionFactory.class);
+        long rows = 0;
+        long bytes;
+        try (FileChannel file = FileChannel.open(options.file(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             ChannelWriter out = new ChannelWriter(target(file));
+             Session session = sessionFactory.openSession()) {
+            // Cursores no PostgreSQL só funcionam dentro de uma transação
+            Transaction transaction = session.beginTransaction();
+            try (ScrollableResults<Object[]> results = ReadOnlyConnections.call(() -> session
+                    .createQuery(jpql, Object[].class)
+                    .setFetchSize(options.fetchSize())
+                    .setReadOnly(true)
+                    .scroll(ScrollMode.FORWARD_ONLY))) {
+                String header = options.format().header(columns);
+                if (header != null) {
+                    out.write(header);
+                }
+                StringBuilder line = new StringBuilder(256);
+                // O scroll só executa a consulta no primeiro next: a conexão é obtida aqui
+                while (ReadOnlyConnections.call(results::next)) {
+                    line.setLength(0);
+                    options.format().appendRow(line, columns, results.get());
+                    out.write(line);
+                    if (++rows % options.fetchSize() == 0) {
+                        progress.accept(rows);
+                    }
+                }
+            } finally {
+                transaction.rollback();
+            }
+            out.flush();
+            bytes = out.bytesWritten();
+        }
+        // Tamanho lido após o close: com gzip o trailer só é escrito ao fechar o stream
+        return new ExportResult(rows, bytes, Files.size(options.file()), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private WritableByteChannel target(FileChannel file) throws IOException {
+        if (!options.gzip()) {
+            return file;
+        }
+        OutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(file), BUFFER_BYTES);
+        return Channels.newChannel(gzip);
+    }
+
+    // Codifica texto em UTF-8 num único ByteBuffer reaproveitado e o esvazia no canal quando enche
+    private static final class ChannelWriter implements AutoCloseable {
+
+        private final WritableByteChannel channel;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private long bytesWritten;
+
+        ChannelWriter(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void write(CharSequence text) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(text);
+            while (true) {
+                CoderResult result = encoder.encode(chars, buffer, false);
+                if (result.isOverflow()) {
+                    drain();
+                } else if (result.isUnderflow()) {
+                    return;
+                } else {
+                    result.throwException();
+                }
+            }
+        }
+
+        void flush() throws IOException {
+            drain();
+        }
+
+        long bytesWritten() {
+            return bytesWritten;
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                bytesWritten += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            drain();
+            channel.close();
+        }
+    }
+}
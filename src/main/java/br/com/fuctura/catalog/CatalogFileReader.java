@@ -0,0 +1,172 @@
+package br.com.fuctura.catalog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Lê o arquivo em blocos de linhas a partir de janelas mapeadas em memória (FileChannel.map).
+// Só uma janela fica mapeada por vez, então arquivos de vários GB não ocupam o espaço de endereçamento inteiro.
+// Cada bloco carrega o offset logo após seu último registro, usado como checkpoint.
+// Com quotedLineBreaks (CSV) uma quebra de linha dentro de um campo entre aspas não encerra o registro.
+// Um registro tem no máximo maxRecordBytes: o buffer da linha não cresce além disso. Registro com aspas que passa
+// do limite ou chega ao fim do arquivo sem fechá-las vira só a sua primeira linha física (rejeitada pelo parsing)
+// e a leitura continua na linha seguinte; linha física maior que o limite é descartada até o próximo '\n'.
+final class CatalogFileReader implements Closeable {
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowBytes;
+    private final boolean quotedLineBreaks;
+    private final int maxRecordBytes;
+
+    private MappedByteBuffer window;
+    private long position;
+    private long lineNumber;
+    private byte[] line = new byte[512];
+    private int lineLength;
+    // Motivo da rejeição do último registro lido pelo próprio leitor (null quando aceito)
+    private String recordError;
+
+    CatalogFileReader(Path file, long windowBytes, long startOffset, long startLine, boolean quotedLineBreaks,
+                      int maxRecordBytes) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowBytes = windowBytes;
+        this.quotedLineBreaks = quotedLineBreaks;
+        this.maxRecordBytes = maxRecordBytes;
+        if (startOffset > size) {
+            channel.close();
+            throw new IllegalStateException("Checkpoint após o fim do arquivo " + file + ": " + startOffset + " > " + size);
+        }
+        this.position = startOffset;
+        this.lineNumber = startLine;
+    }
+
+    // Próximo bloco com até maxLines registros; null no fim do arquivo
+    LineChunk next(int maxLines) throws IOException {
+        List<String> lines = new ArrayList<>(maxLines);
+        long[] lineNumbers = new long[maxLines];
+        String[] errors = new String[maxLines];
+        while (lines.size() < maxLines) {
+            long recordLine = lineNumber + 1;
+            String text = readLine();
+            if (text == null) {
+                break;
+            }
+            lineNumbers[lines.size()] = recordLine;
+            errors[lines.size()] = recordError;
+            lines.add(text);
+        }
+        int count = lines.size();
+        return count == 0 ? null
+                : new LineChunk(Arrays.copyOf(lineNumbers, count), lines, Arrays.copyOf(errors, count), lineNumber, position);
+    }
+
+    // Um registro: até o próximo '\n' fora de aspas. Aspas só abrem um campo no início dele (logo após a vírgula);
+    // dentro do campo "" é uma aspa literal e uma aspa solta fora de campo entre aspas é só um caractere.
+    private String readLine() throws IOException {
+        lineLength = 0;
+        recordError = null;
+        long recordLine = lineNumber;
+        // Fim da primeira linha física do registro, para recomeçar dali se as aspas não fecharem
+        long firstBreak = -1;
+        int firstLength = 0;
+        boolean read = false;
+        boolean fieldStart = true;
+        boolean quoted = false;
+        boolean closed = false;
+        while (position < size) {
+            byte b = nextByte();
+            read = true;
+            if (quotedLineBreaks) {
+                if (quoted) {
+                    if (b == '"') {
+                        quoted = false;
+                        closed = true;
+                    }
+                } else if (b == '"' && (fieldStart || closed)) {
+                    quoted = true;
+                    closed = false;
+                } else {
+                    closed = false;
+                }
+                fieldStart = !quoted && b == ',';
+            }
+            if (b == '\n') {
+                if (!quoted) {
+                    return decodeLine();
+                }
+                if (firstBreak < 0) {
+                    firstBreak = position;
+                    firstLength = lineLength;
+                }
+                lineNumber++;
+            }
+            if (lineLength == maxRecordBytes) {
+                if (firstBreak >= 0) {
+                    return firstLine(recordLine, firstBreak, firstLength);
+                }
+                skipLine();
+                recordError = "registro com mais de " + maxRecordBytes + " bytes";
+                return decodeLine();
+            }
+            if (lineLength == line.length) {
+                line = Arrays.copyOf(line, Math.min(line.length * 2, maxRecordBytes));
+            }
+            line[lineLength++] = b;
+        }
+        if (quoted && firstBreak >= 0) {
+            return firstLine(recordLine, firstBreak, firstLength);
+        }
+        return read ? decodeLine() : null;
+    }
+
+    private byte nextByte() throws IOException {
+        if (window == null || !window.hasRemaining()) {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowBytes, size - position));
+        }
+        position++;
+        return window.get();
+    }
+
+    // Aspas sem fechamento: o registro é só a primeira linha física e a leitura volta para a linha seguinte
+    private String firstLine(long recordLine, long firstBreak, int firstLength) {
+        position = firstBreak;
+        window = null;
+        lineNumber = recordLine;
+        lineLength = firstLength;
+        return decodeLine();
+    }
+
+    private void skipLine() throws IOException {
+        while (position < size) {
+            if (nextByte() == '\n') {
+                return;
+            }
+        }
+    }
+
+    private String decodeLine() {
+        lineNumber++;
+        int length = lineLength > 0 && line[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+        return new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    // lineNumbers[i] é a linha do arquivo (a partir de 1) onde começa lines[i] e errors[i] o motivo quando o próprio
+    // leitor rejeitou o registro; lastLine é a última linha física lida e endOffset o byte seguinte a ela
+    record LineChunk(long[] lineNumbers, List<String> lines, String[] errors, long lastLine, long endOffset) {
+    }
+}
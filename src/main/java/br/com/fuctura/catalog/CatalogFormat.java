@@ -0,0 +1,198 @@
+package br.com.fuctura.catalog;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Formatos aceitos pelo importador. Cada linha vira os campos na ordem de FIELDS:
+//   CSV:   title,author,synopsis,isbn,release_year,category[,category_description] (cabeçalho opcional)
+//   JSONL: {"title": ..., "author": ..., "synopsis": ..., "isbn": ..., "release_year": ..., "category": ...}
+public enum CatalogFormat {
+
+    CSV {
+        @Override
+        String[] fields(String line) {
+            List<String> values = splitCsv(line);
+            String[] fields = new String[FIELDS.size()];
+            for (int i = 0; i < fields.length && i < values.size(); i++) {
+                fields[i] = values.get(i);
+            }
+            return fields;
+        }
+
+        @Override
+        boolean isHeader(String line) {
+            return line.trim().toLowerCase(Locale.ROOT).startsWith("title,");
+        }
+
+        @Override
+        boolean quotedLineBreaks() {
+            return true;
+        }
+
+        @Override
+        String header(List<ExportColumn> columns) {
+            StringBuilder header = new StringBuilder();
+            for (ExportColumn column : columns) {
+                header.append(header.length() == 0 ? "" : ",").append(column.header());
+            }
+            return header.append('\n').toString();
+        }
+
+        @Override
+        void appendRow(StringBuilder out, List<ExportColumn> columns, Object[] row) {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                if (row[i] != null) {
+                    appendCsv(out, row[i].toString());
+                }
+            }
+            out.append('\n');
+        }
+    },
+
+    JSONL {
+        @Override
+        String[] fields(String line) {
+            Map<String, String> values = FlatJsonParser.parse(line);
+            String[] fields = new String[FIELDS.size()];
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = values.get(FIELDS.get(i));
+            }
+            return fields;
+        }
+
+        @Override
+        boolean isHeader(String line) {
+            return false;
+        }
+
+        @Override
+        String header(List<ExportColumn> columns) {
+            return null;
+        }
+
+        @Override
+        void appendRow(StringBuilder out, List<ExportColumn> columns, Object[] row) {
+            out.append('{');
+            for (int i = 0; i < row.length; i++) {
+                out.append(i == 0 ? "\"" : ", \"").append(columns.get(i).header()).append("\": ");
+                if (row[i] == null) {
+                    out.append("null");
+                } else if (row[i] instanceof Number) {
+                    out.append(row[i]);
+                } else {
+                    appendJsonString(out, row[i].toString());
+                }
+            }
+            out.append("}\n");
+        }
+    };
+
+    static final List<String> FIELDS = List.of(
+            "title", "author", "synopsis", "isbn", "release_year", "category", "category_description");
+
+    abstract String[] fields(String line);
+
+    abstract boolean isHeader(String line);
+
+    // Quebra de linha dentro de um campo entre aspas faz parte do registro (JSONL escapa como \n)
+    boolean quotedLineBreaks() {
+        return false;
+    }
+
+    // Cabeçalho do arquivo exportado (null quando o formato não tem)
+    abstract String header(List<ExportColumn> columns);
+
+    // Uma linha exportada, com a quebra de linha; row segue a ordem de columns
+    abstract void appendRow(StringBuilder out, List<ExportColumn> columns, Object[] row);
+
+    public static CatalogFormat fromFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return JSONL;
+        }
+        throw new IllegalArgumentException("Formato não reconhecido pela extensão: " + file + " (use --format=csv|jsonl)");
+    }
+
+    public static CatalogFormat fromName(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    // Quebras de linha ficam dentro das aspas: o leitor do importador mantém o registro aberto até fechá-las
+    private static void appendCsv(StringBuilder out, String value) {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            out.append(value);
+            return;
+        }
+        out.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static void appendJsonString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    // RFC 4180 dentro de uma linha: aspas no início do campo delimitam campos com vírgula e "" é uma aspa literal.
+    // Aspa no meio de um campo sem aspas (12" vinil) é só um caractere, como no CatalogFileReader.
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStart = true;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            boolean atStart = fieldStart;
+            fieldStart = false;
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"' && atStart) {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+                fieldStart = true;
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("aspas não fechadas");
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,299 @@
+package br.com.fuctura.catalog;
+
+import br.com.fuctura.catalog.CatalogFileReader.LineChunk;
+import br.com.fuctura.catalog.ImportResult.Rejection;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.search.InMemoryBookIndex;
+import br.com.fuctura.util.DbException;
+import br.com.fuctura.util.JPAUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.DataException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Importa catálogos de editoras (CSV ou JSONL) com milhões de linhas em três etapas:
+//   leitura   - uma thread lê blocos de linhas do arquivo mapeado em memória
+//   parsing   - parallelism threads convertem e validam (Book.isValid/Category.isValid) cada bloco
+//   gravação  - a thread chamadora insere os livros por uma StatelessSession em lotes JDBC, um commit por bloco
+// A fila entre leitura e gravação tem capacidade 2 * parallelism: se o banco atrasa, a leitura espera.
+// Os blocos são gravados na ordem do arquivo e o checkpoint é atualizado após cada commit.
+public class CatalogImporter {
+
+    private static final int MAX_REPORTED_REJECTIONS = 100;
+    private static final long PROGRESS_EVERY = 100_000;
+    private static final String IMPORTED_CATEGORY_DESCRIPTION = "Categoria criada pela importação de catálogo";
+    private static final Future<ParsedChunk> END = CompletableFuture.completedFuture(null);
+
+    private final ImportOptions options;
+    private final SessionFactory sessionFactory = JPAUtils.getEntityManagerFactory().unwrap(SessionFactory.class);
+    // Nome da categoria -> referência apenas com o id (suficiente para a chave estrangeira)
+    private final Map<String, Category> categories = new HashMap<>();
+    private final List<Rejection> rejections = new ArrayList<>();
+
+    private ImportCheckpoint checkpoint;
+    private long lines;
+    private long imported;
+    private long rejected;
+
+    public CatalogImporter(ImportOptions options) {
+        this.options = options;
+    }
+
+    public ImportResult run() throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        checkpoint = ImportCheckpoint.load(options.checkpoint());
+        if (checkpoint.offset() > 0) {
+            System.out.printf("📥 Retomando %s da linha %,d (%,d livros já importados)%n",
+                    options.file(), checkpoint.line() + 1, checkpoint.imported());
+        }
+        loadCategories();
+
+        BlockingQueue<Future<ParsedChunk>> pending = new ArrayBlockingQueue<>(options.parallelism() * 2);
+        ExecutorService parsers = Executors.newFixedThreadPool(options.parallelism(), daemonThreads("catalog-parser"));
+        Thread reader = daemonThreads("catalog-reader").newThread(() -> read(pending, parsers));
+        reader.start();
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.setJdbcBatchSize(JPAUtils.getBatchSize());
+            long nextProgress = PROGRESS_EVERY;
+            while (true) {
+                ParsedChunk chunk = take(pending);
+                if (chunk == null) {
+                    break;
+                }
+                write(session, chunk);
+                if (lines >= nextProgress) {
+                    nextProgress += PROGRESS_EVERY;
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    System.out.printf("📥 %,d linhas, %,d livros (%.0f livros/s)%n", lines, imported, imported / seconds);
+                }
+            }
+        } finally {
+            reader.interrupt();
+            parsers.shutdownNow();
+        }
+        Files.deleteIfExists(options.checkpoint());
+
+        // A StatelessSession não passa pelos listeners nem pelo cache de segunda camada
+        sessionFactory.getCache().evictQueryRegions();
+        InMemoryBookIndex.getInstance().invalidate();
+        return new ImportResult(lines, imported, rejected, List.copyOf(rejections), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Etapa de leitura: envia cada bloco ao pool de parsing e enfileira o Future na ordem do arquivo
+    private void read(BlockingQueue<Future<ParsedChunk>> pending, ExecutorService parsers) {
+        try (CatalogFileReader reader = new CatalogFileReader(options.file(), options.windowBytes(),
+                checkpoint.offset(), checkpoint.line(), options.format().quotedLineBreaks(), options.maxRecordBytes())) {
+            LineChunk chunk;
+            while ((chunk = reader.next(options.chunkRows())) != null) {
+                LineChunk lineChunk = chunk;
+                pending.put(parsers.submit(() -> parse(lineChunk)));
+            }
+            pending.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            pending.clear();
+            pending.offer(CompletableFuture.failedFuture(e));
+        }
+    }
+
+    private static ParsedChunk take(BlockingQueue<Future<ParsedChunk>> pending) throws IOException, InterruptedException {
+        try {
+            return pending.take().get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new DbException("Falha ao ler o catálogo: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    // Etapa de parsing (threads do pool): linhas inválidas viram rejeições, não interrompem a importação
+    private ParsedChunk parse(LineChunk chunk) {
+        List<ParsedBook> books = new ArrayList<>(chunk.lines().size());
+        List<Rejection> rejected = new ArrayList<>();
+        for (int i = 0; i < chunk.lines().size(); i++) {
+            String line = chunk.lines().get(i);
+            long lineNumber = chunk.lineNumbers()[i];
+            if (chunk.errors()[i] != null) {
+                rejected.add(new Rejection(lineNumber, chunk.errors()[i]));
+            } else if (!line.isBlank() && !(lineNumber == 1 && options.format().isHeader(line))) {
+                try {
+                    books.add(parseBook(lineNumber, options.format().fields(line)));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    rejected.add(new Rejection(lineNumber, e.getMessage()));
+                }
+            }
+        }
+        return new ParsedChunk(chunk, books, rejected);
+    }
+
+    private static ParsedBook parseBook(long line, String[] fields) {
+        String description = trim(fields[6]);
+        Category category = new Category(trim(fields[5]), description != null ? description : IMPORTED_CATEGORY_DESCRIPTION);
+        if (!category.isValid()) {
+            throw new IllegalArgumentException("categoria inválida: " + category.getName());
+        }
+        Book book = new Book(trim(fields[0]), trim(fields[1]), trim(fields[2]), trim(fields[3]),
+                parseRelease(trim(fields[4])), category);
+        if (!book.isValid()) {
+            throw new IllegalArgumentException("livro inválido (título, autor, ISBN, lançamento e categoria são obrigatórios)");
+        }
+        return new ParsedBook(line, book, category.getName(), category.getDescription());
+    }
+
+    // Aceita data ISO (2021-03-15) ou apenas o ano (2021 -> 2021-01-01)
+    private static LocalDate parseRelease(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.length() == 4 ? LocalDate.of(Integer.parseInt(value), 1, 1) : LocalDate.parse(value);
+    }
+
+    private static String trim(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    // Etapa de gravação: categorias novas em uma transação própria, depois o bloco de livros em lotes JDBC
+    private void write(StatelessSession session, ParsedChunk chunk) throws IOException {
+        createMissingCategories(session, chunk.books());
+        for (ParsedBook parsed : chunk.books()) {
+            parsed.book().setCategory(categories.get(parsed.categoryName()));
+        }
+
+        long chunkImported;
+        List<Rejection> chunkRejected = new ArrayList<>(chunk.rejected());
+        try {
+            inTransaction(session, () -> chunk.books().forEach(parsed -> session.insert(parsed.book())));
+            chunkImported = chunk.books().size();
+        } catch (RuntimeException e) {
+            // Alguma linha violou uma restrição (ex: ISBN já existente): grava linha a linha para isolar as rejeitadas.
+            // Outros erros (ex: banco fora do ar) interrompem a importação sem avançar o checkpoint.
+            chunkImported = 0;
+            for (ParsedBook parsed : chunk.books()) {
+                parsed.book().setId(null);
+                try {
+                    inTransaction(session, () -> session.insert(parsed.book()));
+                    chunkImported++;
+                } catch (RuntimeException rowError) {
+                    if (!isRowError(rowError)) {
+                        throw rowError;
+                    }
+                    chunkRejected.add(new Rejection(parsed.line(), "rejeitado pelo banco: " + rootMessage(rowError)));
+                }
+            }
+        }
+
+        LineChunk source = chunk.source();
+        lines += source.lines().size();
+        imported += chunkImported;
+        rejected += chunkRejected.size();
+        for (Rejection rejection : chunkRejected) {
+            if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                rejections.add(rejection);
+            }
+        }
+        checkpoint = new ImportCheckpoint(source.endOffset(), source.lastLine(),
+                checkpoint.imported() + chunkImported, checkpoint.rejected() + chunkRejected.size());
+        checkpoint.save(options.checkpoint());
+    }
+
+    private void createMissingCategories(StatelessSession session, List<ParsedBook> books) {
+        Map<String, Category> created = new HashMap<>();
+        for (ParsedBook parsed : books) {
+            if (!categories.containsKey(parsed.categoryName()) && !created.containsKey(parsed.categoryName())) {
+                created.put(parsed.categoryName(), new Category(parsed.categoryName(), parsed.categoryDescription()));
+            }
+        }
+        if (created.isEmpty()) {
+            return;
+        }
+        inTransaction(session, () -> created.values().forEach(session::insert));
+        created.forEach((name, category) -> categories.put(name, reference(category.getId())));
+    }
+
+    private void loadCategories() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            for (Object[] row : session.createQuery("SELECT c.name, c.id FROM Category c ORDER BY c.id", Object[].class).list()) {
+                categories.putIfAbsent((String) row[0], reference((Long) row[1]));
+            }
+        }
+    }
+
+    private static Category reference(Long id) {
+        Category category = new Category();
+        category.setId(id);
+        return category;
+    }
+
+    private static void inTransaction(StatelessSession session, Runnable work) {
+        Transaction transaction = session.beginTransaction();
+        try {
+            work.run();
+            transaction.commit();
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        }
+    }
+
+    // Erro causado pelos dados da linha (restrição violada, valor inválido para a coluna),
+    // possivelmente embrulhado pelo commit
+    private static boolean isRowError(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException || cause instanceof DataException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record ParsedBook(long line, Book book, String categoryName, String categoryDescription) {
+    }
+
+    private record ParsedChunk(LineChunk source, List<ParsedBook> books, List<Rejection> rejected) {
+    }
+}
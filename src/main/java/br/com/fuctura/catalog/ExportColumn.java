@@ -0,0 +1,55 @@
+package br.com.fuctura.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Colunas que o exportador sabe projetar; o nome é o mesmo usado pelo importador (cabeçalho CSV / chave JSONL)
+public enum ExportColumn {
+
+    ID("id", "b.id"),
+    TITLE("title", "b.title"),
+    AUTHOR("author", "b.author"),
+    SYNOPSIS("synopsis", "b.synopsis"),
+    ISBN("isbn", "b.isbn"),
+    RELEASE_YEAR("release_year", "b.releaseYear"),
+    CATEGORY("category", "c.name");
+
+    // Mesma ordem lida pelo importador: um arquivo exportado com as colunas padrão pode ser reimportado
+    public static final List<ExportColumn> DEFAULT = List.of(TITLE, AUTHOR, SYNOPSIS, ISBN, RELEASE_YEAR, CATEGORY);
+
+    private final String header;
+    private final String path;
+
+    ExportColumn(String header, String path) {
+        this.header = header;
+        this.path = path;
+    }
+
+    public String header() {
+        return header;
+    }
+
+    String path() {
+        return path;
+    }
+
+    // "title,isbn,category"
+    public static List<ExportColumn> parse(String names) {
+        List<ExportColumn> columns = new ArrayList<>();
+        for (String name : names.split(",")) {
+            String normalized = name.trim().toLowerCase(Locale.ROOT);
+            ExportColumn column = null;
+            for (ExportColumn candidate : values()) {
+                if (candidate.header.equals(normalized)) {
+                    column = candidate;
+                }
+            }
+            if (column == null) {
+                throw new IllegalArgumentException("Coluna desconhecida: " + name.trim());
+            }
+            columns.add(column);
+        }
+        return List.copyOf(columns);
+    }
+}
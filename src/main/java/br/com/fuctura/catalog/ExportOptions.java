@@ -0,0 +1,73 @@
+package br.com.fuctura.catalog;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Opções do exportador. fetchSize é quantas linhas o driver traz por ida ao banco;
+// a memória usada não depende do tamanho da tabela.
+public record ExportOptions(
+        Path file,
+        CatalogFormat format,
+        List<ExportColumn> columns,
+        boolean gzip,
+        int fetchSize) {
+
+    public static final String USAGE = String.join(System.lineSeparator(),
+            "  export    <arquivo.csv|arquivo.jsonl[.gz]> --format=csv|jsonl --columns=title,author,isbn,...",
+            "            --fetch-size=1000 [--gzip] (colunas: id,title,author,synopsis,isbn,release_year,category)");
+
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+
+    public ExportOptions {
+        if (columns.isEmpty() || fetchSize <= 0) {
+            throw new IllegalArgumentException("Informe ao menos uma coluna e um fetch size maior que zero");
+        }
+        columns = List.copyOf(columns);
+    }
+
+    // Formato pela extensão; ".gz" no final liga a compressão
+    public static ExportOptions of(Path file) {
+        boolean gzip = file.getFileName().toString().endsWith(".gz");
+        return new ExportOptions(file, CatalogFormat.fromFile(gzip ? withoutGzipSuffix(file) : file),
+                ExportColumn.DEFAULT, gzip, DEFAULT_FETCH_SIZE);
+    }
+
+    public static ExportOptions parse(String[] args, int offset) {
+        if (args.length <= offset || args[offset].startsWith("--")) {
+            throw new IllegalArgumentException("Informe o arquivo de saída");
+        }
+        Path file = Path.of(args[offset]);
+        Map<String, String> values = new HashMap<>();
+        for (int i = offset + 1; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Opção inválida: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(separator < 0 ? arg.substring(2) : arg.substring(2, separator),
+                    separator < 0 ? "true" : arg.substring(separator + 1));
+        }
+
+        boolean gzip = values.containsKey("gzip")
+                ? Boolean.parseBoolean(values.remove("gzip"))
+                : file.getFileName().toString().endsWith(".gz");
+        ExportOptions options = new ExportOptions(
+                file,
+                values.containsKey("format") ? CatalogFormat.fromName(values.remove("format"))
+                        : CatalogFormat.fromFile(gzip ? withoutGzipSuffix(file) : file),
+                values.containsKey("columns") ? ExportColumn.parse(values.remove("columns")) : ExportColumn.DEFAULT,
+                gzip,
+                values.containsKey("fetch-size") ? Integer.parseInt(values.remove("fetch-size").trim()) : DEFAULT_FETCH_SIZE);
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Opções desconhecidas: " + values.keySet());
+        }
+        return options;
+    }
+
+    private static Path withoutGzipSuffix(Path file) {
+        String name = file.getFileName().toString();
+        return file.resolveSibling(name.endsWith(".gz") ? name.substring(0, name.length() - 3) : name);
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.fuctura.catalog;
+
+import java.io.PrintStream;
+
+// textBytes é o volume de texto gerado; fileBytes o tamanho final do arquivo (menor quando há gzip)
+public record ExportResult(long rows, long textBytes, long fileBytes, long elapsedMillis) {
+
+    public double rowsPerSecond() {
+        return elapsedMillis == 0 ? 0 : rows * 1000.0 / elapsedMillis;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("📤 %,d livros exportados em %.1fs (%.0f livros/s), %,d bytes no arquivo%n",
+                rows, elapsedMillis / 1000.0, rowsPerSecond(), fileBytes);
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.fuctura.catalog;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Lê um objeto JSON sem aninhamento ({"chave": "texto" | número | true | false | null}) como mapa de strings.
+// Suficiente para uma linha de JSONL do catálogo sem trazer uma biblioteca de JSON para o projeto.
+final class FlatJsonParser {
+
+    private final String text;
+    private int position;
+
+    private FlatJsonParser(String text) {
+        this.text = text;
+    }
+
+    static Map<String, String> parse(String line) {
+        return new FlatJsonParser(line).object();
+    }
+
+    private Map<String, String> object() {
+        Map<String, String> values = new HashMap<>();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return values;
+        }
+        while (true) {
+            skipWhitespace();
+            String key = string();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            values.put(key, value());
+            skipWhitespace();
+            char next = next();
+            if (next == '}') {
+                break;
+            }
+            if (next != ',') {
+                throw error("',' ou '}' esperado");
+            }
+        }
+        skipWhitespace();
+        if (position < text.length()) {
+            throw error("conteúdo após o fim do objeto");
+        }
+        return values;
+    }
+
+    private String value() {
+        char c = peek();
+        if (c == '"') {
+            return string();
+        }
+        if (c == '{' || c == '[') {
+            throw error("objetos e listas aninhados não são suportados");
+        }
+        int start = position;
+        while (position < text.length() && ",} \t".indexOf(text.charAt(position)) < 0) {
+            position++;
+        }
+        String literal = text.substring(start, position);
+        if (literal.isEmpty()) {
+            throw error("valor esperado");
+        }
+        return literal.equals("null") ? null : literal;
+    }
+
+    private String string() {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            char escaped = next();
+            switch (escaped) {
+                case 'n' -> value.append('\n');
+                case 't' -> value.append('\t');
+                case 'r' -> value.append('\r');
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'u' -> {
+                    if (position + 4 > text.length()) {
+                        throw error("escape \\u incompleto");
+                    }
+                    value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    position += 4;
+                }
+                default -> value.append(escaped);
+            }
+        }
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            throw error("'" + expected + "' esperado");
+        }
+    }
+
+    private char next() {
+        if (position >= text.length()) {
+            throw error("fim inesperado da linha");
+        }
+        return text.charAt(position++);
+    }
+
+    private char peek() {
+        if (position >= text.length()) {
+            throw error("fim inesperado da linha");
+        }
+        return text.charAt(position);
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("JSON inválido na coluna " + (position + 1) + ": " + message);
+    }
+}
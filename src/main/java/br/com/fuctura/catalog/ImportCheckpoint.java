@@ -0,0 +1,44 @@
+package br.com.fuctura.catalog;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+// Posição do último bloco confirmado no banco. Gravado após cada commit (arquivo temporário + move atômico),
+// para que uma importação interrompida continue do byte seguinte sem duplicar linhas.
+public record ImportCheckpoint(long offset, long line, long imported, long rejected) {
+
+    public static final ImportCheckpoint START = new ImportCheckpoint(0, 0, 0, 0);
+
+    public static ImportCheckpoint load(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return START;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return new ImportCheckpoint(
+                Long.parseLong(properties.getProperty("offset", "0")),
+                Long.parseLong(properties.getProperty("line", "0")),
+                Long.parseLong(properties.getProperty("imported", "0")),
+                Long.parseLong(properties.getProperty("rejected", "0")));
+    }
+
+    public void save(Path file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("offset", Long.toString(offset));
+        properties.setProperty("line", Long.toString(line));
+        properties.setProperty("imported", Long.toString(imported));
+        properties.setProperty("rejected", Long.toString(rejected));
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            properties.store(out, "Checkpoint da importação de catálogo");
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
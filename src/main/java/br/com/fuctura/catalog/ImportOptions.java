@@ -0,0 +1,78 @@
+package br.com.fuctura.catalog;
+
+import br.com.fuctura.util.JPAUtils;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+// Opções do importador de catálogo. chunkRows é a unidade de trabalho das etapas e de commit
+// (padrão: batch.commit_size); a memória usada fica limitada a ~2 * parallelism blocos em trânsito.
+// maxRecordBytes limita um registro (padrão 1 MB): maior que isso é rejeitado sem crescer o buffer de leitura.
+public record ImportOptions(
+        Path file,
+        CatalogFormat format,
+        int parallelism,
+        int chunkRows,
+        long windowBytes,
+        int maxRecordBytes,
+        Path checkpoint) {
+
+    public static final String USAGE = String.join(System.lineSeparator(),
+            "  import    <arquivo.csv|arquivo.jsonl> --format=csv|jsonl --parallelism=4 --chunk=1000 --window-mb=64",
+            "            --max-record-kb=1024 (registros maiores são rejeitados)",
+            "            --checkpoint=<arquivo> (padrão: <arquivo>.checkpoint; a importação continua de onde parou)");
+
+    private static final long MB = 1024 * 1024;
+    private static final int DEFAULT_WINDOW_MB = 64;
+    private static final int KB = 1024;
+    private static final int DEFAULT_MAX_RECORD_KB = 1024;
+
+    public ImportOptions {
+        if (parallelism <= 0 || chunkRows <= 0 || windowBytes <= 0 || maxRecordBytes <= 0) {
+            throw new IllegalArgumentException("parallelism, chunk, window e max-record devem ser maiores que zero");
+        }
+    }
+
+    public static ImportOptions of(Path file) {
+        return new ImportOptions(file, CatalogFormat.fromFile(file), Runtime.getRuntime().availableProcessors(),
+                JPAUtils.getCommitSize(), DEFAULT_WINDOW_MB * MB, DEFAULT_MAX_RECORD_KB * KB, defaultCheckpoint(file));
+    }
+
+    public static ImportOptions parse(String[] args, int offset) {
+        if (args.length <= offset || args[offset].startsWith("--")) {
+            throw new IllegalArgumentException("Informe o arquivo a importar");
+        }
+        Path file = Path.of(args[offset]);
+        Map<String, String> values = new HashMap<>();
+        for (int i = offset + 1; i < args.length; i++) {
+            String arg = args[i];
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Opção inválida: " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        ImportOptions options = new ImportOptions(
+                file,
+                values.containsKey("format") ? CatalogFormat.fromName(values.remove("format")) : CatalogFormat.fromFile(file),
+                intValue(values.remove("parallelism"), Runtime.getRuntime().availableProcessors()),
+                intValue(values.remove("chunk"), JPAUtils.getCommitSize()),
+                intValue(values.remove("window-mb"), DEFAULT_WINDOW_MB) * MB,
+                intValue(values.remove("max-record-kb"), DEFAULT_MAX_RECORD_KB) * KB,
+                values.containsKey("checkpoint") ? Path.of(values.remove("checkpoint")) : defaultCheckpoint(file));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Opções desconhecidas: " + values.keySet());
+        }
+        return options;
+    }
+
+    static Path defaultCheckpoint(Path file) {
+        return file.resolveSibling(file.getFileName() + ".checkpoint");
+    }
+
+    private static int intValue(String value, int defaultValue) {
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+}
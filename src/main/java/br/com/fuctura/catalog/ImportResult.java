@@ -0,0 +1,22 @@
+package br.com.fuctura.catalog;
+
+import java.io.PrintStream;
+import java.util.List;
+
+// Totais desta execução (uma importação retomada conta só o que leu após o checkpoint).
+// rejections traz apenas as primeiras linhas rejeitadas, para diagnóstico.
+public record ImportResult(long lines, long imported, long rejected, List<Rejection> rejections, long elapsedMillis) {
+
+    public double rowsPerSecond() {
+        return elapsedMillis == 0 ? 0 : imported * 1000.0 / elapsedMillis;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("📥 %,d linhas: %,d livros importados, %,d rejeitados em %.1fs (%.0f livros/s)%n",
+                lines, imported, rejected, elapsedMillis / 1000.0, rowsPerSecond());
+        rejections.forEach(rejection -> out.printf("   linha %d: %s%n", rejection.line(), rejection.reason()));
+    }
+
+    public record Rejection(long line, String reason) {
+    }
+}
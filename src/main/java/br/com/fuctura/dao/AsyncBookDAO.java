@@ -0,0 +1,46 @@
+package br.com.fuctura.dao;
+
+import br.com.fuctura.dto.BookSummary;
+import br.com.fuctura.entity.Book;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncBookDAO extends AsyncGenericDAO<Book, Long> {
+
+    private final BookDAO bookDAO;
+
+    public AsyncBookDAO(AsyncDAO async) {
+        this(async, new BookDAO());
+    }
+
+    public AsyncBookDAO(AsyncDAO async, BookDAO bookDAO) {
+        super(async, bookDAO);
+        this.bookDAO = bookDAO;
+    }
+
+    public CompletableFuture<Optional<Book>> findByIsbn(String isbn) {
+        return async.read(() -> bookDAO.findByIsbn(isbn));
+    }
+
+    public CompletableFuture<List<Book>> findByAuthor(String author) {
+        return async.read(() -> bookDAO.findByAuthor(author));
+    }
+
+    public CompletableFuture<List<Book>> findByAuthor(String author, FetchPlan plan) {
+        return async.read(() -> bookDAO.findByAuthor(author, plan));
+    }
+
+    public CompletableFuture<List<Book>> findByTitle(String titlePattern) {
+        return async.read(() -> bookDAO.findByTitle(titlePattern));
+    }
+
+    public CompletableFuture<List<BookSummary>> findSummariesByAuthor(String author) {
+        return async.read(() -> bookDAO.findSummariesByAuthor(author));
+    }
+
+    public CompletableFuture<List<BookSummary>> findAllSummaries() {
+        return async.read(bookDAO::findAllSummaries);
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.fuctura.dao;
+
+import br.com.fuctura.entity.Category;
+
+public class AsyncCategoryDAO extends AsyncGenericDAO<Category, Long> {
+    public AsyncCategoryDAO(AsyncDAO async) {
+        super(async, new CategoryDAO());
+    }
+
+}
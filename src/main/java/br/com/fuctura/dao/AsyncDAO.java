@@ -0,0 +1,113 @@
+package br.com.fuctura.dao;
+
+import br.com.fuctura.util.DbException;
+import br.com.fuctura.util.JPAUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Executa chamadas de DAO em paralelo e devolve CompletableFuture. Cada tarefa roda numa UnitOfWork própria
+// (EntityManager não é thread-safe, então a unidade do chamador nunca é compartilhada) em um executor com
+// no máximo pool.maximumPoolSize threads: mais threads só ficariam esperando conexão.
+//
+//   CompletableFuture<Book> book = async.read(() -> bookDAO.findById(id).orElseThrow());
+//   CompletableFuture<List<Category>> categories = async.read(categoryDAO::findAll);
+//   book.thenCombine(categories, BookPage::new);
+public class AsyncDAO implements AutoCloseable {
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ExecutorService executor;
+    private final Duration timeout;
+
+    public AsyncDAO() {
+        this(JPAUtils.getMaximumPoolSize(), DEFAULT_TIMEOUT);
+    }
+
+    public AsyncDAO(int threads, Duration timeout) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "async-dao-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timeout = timeout;
+    }
+
+    // Leitura em uma UnitOfWork.readOnly. Chamada de dentro de uma unidade, não enxerga o que ela ainda não confirmou.
+    public <R> CompletableFuture<R> read(Supplier<R> work) {
+        return read(work, timeout);
+    }
+
+    public <R> CompletableFuture<R> read(Supplier<R> work, Duration timeout) {
+        return submit(true, work, timeout);
+    }
+
+    // Escrita em uma UnitOfWork.inTransaction própria, com commit independente do chamador
+    public <R> CompletableFuture<R> inTransaction(Supplier<R> work) {
+        return inTransaction(work, timeout);
+    }
+
+    public <R> CompletableFuture<R> inTransaction(Supplier<R> work, Duration timeout) {
+        if (UnitOfWork.isActive()) {
+            throw new DbException("Escrita assíncrona dentro de uma UnitOfWork não participaria da transação corrente");
+        }
+        return submit(false, work, timeout);
+    }
+
+    // No timeout o future falha com TimeoutException e a tarefa é cancelada (interrompida ou descartada da fila).
+    // Uma escrita que termine depois do timeout é desfeita em vez de confirmada.
+    private <R> CompletableFuture<R> submit(boolean readOnly, Supplier<R> work, Duration timeout) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        Supplier<R> guarded = () -> {
+            R value = work.get();
+            if (result.isDone()) {
+                throw new DbException("Tempo esgotado: a unidade de trabalho assíncrona foi desfeita");
+            }
+            return value;
+        };
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                try {
+                    result.complete(readOnly ? UnitOfWork.readOnly(guarded) : UnitOfWork.inTransaction(guarded));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new DbException("AsyncDAO encerrado", e));
+        }
+        result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+            if (error instanceof TimeoutException) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    // Não aceita novas tarefas e espera as que estão em andamento terminarem
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
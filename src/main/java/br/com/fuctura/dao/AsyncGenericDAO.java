@@ -0,0 +1,49 @@
+package br.com.fuctura.dao;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+// Versão assíncrona das operações do GenericDAO: cada chamada vira uma tarefa do AsyncDAO.
+// As entidades devolvidas estão destacadas; associações LAZY devem vir pelo FetchPlan.
+public abstract class AsyncGenericDAO<T, ID> {
+
+    protected final AsyncDAO async;
+    private final GenericDAO<T, ID> dao;
+
+    protected AsyncGenericDAO(AsyncDAO async, GenericDAO<T, ID> dao) {
+        this.async = async;
+        this.dao = dao;
+    }
+
+    public CompletableFuture<Optional<T>> findById(ID id) {
+        return async.read(() -> dao.findById(id));
+    }
+
+    public CompletableFuture<Optional<T>> findById(ID id, FetchPlan plan) {
+        return async.read(() -> dao.findById(id, plan));
+    }
+
+    public CompletableFuture<List<T>> findAll() {
+        return async.read(dao::findAll);
+    }
+
+    public CompletableFuture<List<T>> findAll(FetchPlan plan) {
+        return async.read(() -> dao.findAll(plan));
+    }
+
+    public CompletableFuture<Boolean> existsById(ID id) {
+        return async.read(() -> dao.existsById(id));
+    }
+
+    public CompletableFuture<T> save(T entity) {
+        return async.inTransaction(() -> dao.save(entity));
+    }
+
+    public CompletableFuture<Void> deleteById(ID id) {
+        return async.inTransaction(() -> {
+            dao.deleteById(id);
+            return null;
+        });
+    }
+}
@@ -1,34 +1,278 @@
 package br.com.fuctura.dao;
 
+import br.com.fuctura.dto.BookSummary;
 import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.search.InMemoryBookIndex;
+import br.com.fuctura.search.PostgresFullText;
+import br.com.fuctura.util.JPAUtils;
+import br.com.fuctura.util.ReadOnlyConnections;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.hibernate.stat.CacheRegionStatistics;
 
-import java.util.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class BookDAO extends GenericDAO<Book, Long> {
+    // Finders com cache de resultados (regiões definidas em ehcache.xml)
+    public static final String FIND_BY_AUTHOR = "findByAuthor";
+    public static final String FIND_BY_TITLE = "findByTitle";
+    public static final String FIND_BY_RELEASE = "findByRelease";
+
+    // Livro + categoria em um único SELECT (telas de listagem que exibem o nome da categoria)
+    public static final FetchPlan WITH_CATEGORY = FetchPlan.graph(Book.GRAPH_WITH_CATEGORY);
+
+    private static final String SUMMARY_SELECT = "SELECT new " + BookSummary.class.getName()
+            + "(b.id, b.title, b.author, b.releaseYear, c.name) FROM Book b LEFT JOIN b.category c";
+
+    private static final Map<String, String> QUERY_CACHE_REGIONS = Map.of(
+            FIND_BY_AUTHOR, "book-by-author",
+            FIND_BY_TITLE, "book-by-title",
+            FIND_BY_RELEASE, "book-by-release");
+
     public BookDAO() {
         super(Book.class);
     }
 
+    // Busca pelo natural id (ISBN): resolvido pelo cache de natural id ou pelo índice único ux_book_isbn
+    public Optional<Book> findByIsbn(String isbn) {
+        return read("findByIsbn", em -> em.unwrap(Session.class)
+                .bySimpleNaturalId(Book.class)
+                .loadOptional(normalize(isbn)));
+    }
+
+    // Multi-load por ISBN: ISBNs já em cache não vão ao banco, os demais são buscados em lotes
+    public List<Book> findByIsbns(Collection<String> isbns) {
+        if (isbns.isEmpty()) {
+            return List.of();
+        }
+        List<Object> naturalIds = new ArrayList<>(isbns.size());
+        isbns.forEach(isbn -> naturalIds.add(normalize(isbn)));
+        return read("findByIsbns", em -> em.unwrap(Session.class)
+                .byMultipleNaturalId(Book.class)
+                .withBatchSize(JPAUtils.getBatchSize())
+                .multiLoad(naturalIds)
+                .stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+
     public List<Book> findByAuthor(String author) {
-        return entityManager
+        return findByAuthor(author, FetchPlan.NONE);
+    }
+
+    public List<Book> findByAuthor(String author, FetchPlan plan) {
+        return read(FIND_BY_AUTHOR, plan, em -> cacheable(em, FIND_BY_AUTHOR, withPlan(em, em
                 .createQuery("SELECT b FROM Book b WHERE b.author = :author", Book.class)
-                .setParameter("author", author)
-                .getResultList();
+                .setParameter("author", normalize(author)), plan))
+                .getResultList());
+    }
+
+    public List<Book> findByAuthor(String author, Long afterId, int limit) {
+        return findPage("findByAuthorPage", "e.author = :author", Map.of("author", normalize(author)), afterId, limit);
+    }
+
+    public Stream<Book> streamByAuthor(String author, int fetchSize) {
+        return stream("streamByAuthor", "e.author = :author", Map.of("author", normalize(author)), fetchSize);
+    }
+
+    public Flow.Publisher<Book> publishByAuthor(String author, int prefetch) {
+        return publisher("publishByAuthor", "e.author = :author", Map.of("author", normalize(author)), prefetch);
     }
 
     public List<Book> findByTitle(String titlePattern) {
-        return entityManager
+        return findByTitle(titlePattern, FetchPlan.NONE);
+    }
+
+    public List<Book> findByTitle(String titlePattern, FetchPlan plan) {
+        return read(FIND_BY_TITLE, plan, em -> cacheable(em, FIND_BY_TITLE, withPlan(em, em
                 .createQuery("SELECT b FROM Book b WHERE b.title LIKE :title", Book.class)
-                .setParameter("title", "%" + titlePattern + "%")
-                .getResultList();
+                .setParameter("title", "%" + normalize(titlePattern) + "%"), plan))
+                .getResultList());
+    }
+
+    public List<Book> findByTitle(String titlePattern, Long afterId, int limit) {
+        return findPage("findByTitlePage", "e.title LIKE :title", Map.of("title", "%" + normalize(titlePattern) + "%"), afterId, limit);
+    }
+
+    public Stream<Book> streamByTitle(String titlePattern, int fetchSize) {
+        return stream("streamByTitle", "e.title LIKE :title", Map.of("title", "%" + normalize(titlePattern) + "%"), fetchSize);
+    }
+
+    public Flow.Publisher<Book> publishByTitle(String titlePattern, int prefetch) {
+        return publisher("publishByTitle", "e.title LIKE :title", Map.of("title", "%" + normalize(titlePattern) + "%"), prefetch);
+    }
+
+    public List<Book> findByRelease(LocalDate releaseYear) {
+        return findByRelease(releaseYear, FetchPlan.NONE);
+    }
+
+    public List<Book> findByRelease(LocalDate releaseYear, FetchPlan plan) {
+        return read(FIND_BY_RELEASE, plan, em -> cacheable(em, FIND_BY_RELEASE, withPlan(em, em
+                .createQuery("SELECT b FROM Book b WHERE b.releaseYear > :releaseDate", Book.class)
+                .setParameter("releaseDate", releaseYear), plan))
+                .getResultList());
+    }
+
+    public List<Book> findByRelease(LocalDate releaseYear, Long afterId, int limit) {
+        return findPage("findByReleasePage", "e.releaseYear > :releaseDate", Map.of("releaseDate", releaseYear), afterId, limit);
+    }
+
+    public Stream<Book> streamByRelease(LocalDate releaseYear, int fetchSize) {
+        return stream("streamByRelease", "e.releaseYear > :releaseDate", Map.of("releaseDate", releaseYear), fetchSize);
+    }
+
+    public Flow.Publisher<Book> publishByRelease(LocalDate releaseYear, int prefetch) {
+        return publisher("publishByRelease", "e.releaseYear > :releaseDate", Map.of("releaseDate", releaseYear), prefetch);
+    }
+
+    // Projeções para listagens: id, título, autor, lançamento e nome da categoria em um único SELECT
+    public List<BookSummary> findAllSummaries() {
+        return summaries("findAllSummaries", null, Map.of());
+    }
+
+    public List<BookSummary> findSummariesByAuthor(String author) {
+        return summaries("findSummariesByAuthor", "b.author = :author", Map.of("author", normalize(author)));
+    }
+
+    public List<BookSummary> findSummariesByTitle(String titlePattern) {
+        return summaries("findSummariesByTitle", "b.title LIKE :title", Map.of("title", "%" + normalize(titlePattern) + "%"));
+    }
+
+    public List<BookSummary> findSummariesByRelease(LocalDate releaseYear) {
+        return summaries("findSummariesByRelease", "b.releaseYear > :releaseDate", Map.of("releaseDate", releaseYear));
+    }
+
+    public List<BookSummary> findSummariesByCategory(Category category) {
+        // b.category.id fica na coluna category_id (ix_book_category); c.id faria o H2 varrer book
+        return summaries("findSummariesByCategory", "b.category.id = :categoryId", Map.of("categoryId", category.getId()));
+    }
+
+    private List<BookSummary> summaries(String operation, String where, Map<String, Object> parameters) {
+        return read(operation, em -> {
+            TypedQuery<BookSummary> query = em.createQuery(SUMMARY_SELECT
+                    + (where == null ? "" : " WHERE " + where) + " ORDER BY b.id", BookSummary.class);
+            parameters.forEach(query::setParameter);
+            return query.getResultList();
+        });
     }
 
-    public List<Book> findByRelease(Date releaseYear) {
-        return entityManager
-                .createQuery("SELECT b FROM Book b WHERE b.release > :releaseDate", Book.class)
-                .setParameter("releaseDate", releaseYear)
-                .getResultList();
+    // Move os livros de uma categoria para outra em um único UPDATE
+    public int reassignCategory(Category from, Category to) {
+        return updateWhere("reassignCategory", (update, book) -> update.set(book.get("category"), to),
+                (cb, book) -> cb.equal(book.get("category"), from));
     }
 
+    public int deleteByCategory(Category category) {
+        return deleteWhere("deleteByCategory", (cb, book) -> cb.equal(book.get("category"), category));
+    }
+
+    // Busca textual em título, autor e sinopse ordenada por relevância (page começa em 0).
+    // PostgreSQL: coluna tsvector + índice GIN; outros bancos (H2): índice invertido em memória.
+    @SuppressWarnings("unchecked")
+    public List<Book> search(String query, int page, int size) {
+        if (page < 0 || size <= 0) {
+            throw new IllegalArgumentException("page deve ser >= 0 e size > 0");
+        }
+        // Coluna tsvector e índice GIN criados na inicialização (PostgresFullText.ensureSchema)
+        if (JPAUtils.isPostgreSQL()) {
+            return read("search", em -> em.createNativeQuery(PostgresFullText.SEARCH_SQL, Book.class)
+                    .setParameter("query", query)
+                    .setParameter("limit", size)
+                    .setParameter("offset", page * size)
+                    .getResultList());
+        }
+
+        InMemoryBookIndex index = InMemoryBookIndex.getInstance();
+        return read("search", em -> {
+            if (!index.isBuilt()) {
+                rebuildSearchIndex(index);
+            }
+            List<Long> rankedIds = index.search(query, page * size, size);
+            if (rankedIds.isEmpty()) {
+                return List.of();
+            }
+            Map<Long, Book> books = em
+                    .createQuery("SELECT b FROM Book b WHERE b.id IN :ids", Book.class)
+                    .setParameter("ids", rankedIds)
+                    .getResultStream()
+                    .collect(Collectors.toMap(Book::getId, Function.identity()));
+            return rankedIds.stream().map(books::get).filter(Objects::nonNull).collect(Collectors.toList());
+        });
+    }
+
+    // Snapshot lido do primário, num EntityManager próprio: uma réplica atrasada deixaria de fora escritas já
+    // confirmadas, que não voltam ao índice até a próxima invalidação
+    private static void rebuildSearchIndex(InMemoryBookIndex index) {
+        synchronized (index) {
+            if (index.isBuilt()) {
+                return;
+            }
+            index.beginRebuild();
+            try {
+                ReadOnlyConnections.onPrimary(() -> {
+                    EntityManager em = JPAUtils.getEntityManager();
+                    try (Stream<Object[]> rows = em
+                            .createQuery("SELECT b.id, b.title, b.author, b.synopsis FROM Book b", Object[].class)
+                            .getResultStream()) {
+                        index.rebuild(rows::iterator);
+                    } finally {
+                        em.close();
+                    }
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                // Descarta as escritas guardadas: a próxima busca tenta de novo
+                index.invalidate();
+                throw e;
+            }
+        }
+    }
+
+    // O índice em memória é mantido pelo BookSearchListener após cada commit, mas ele não vê comandos em massa
+    @Override
+    protected void afterBulkChange() {
+        InMemoryBookIndex.getInstance().invalidate();
+    }
+
+    // Acertos/falhas do cache de resultados de um finder (null enquanto a região não for usada)
+    public CacheRegionStatistics getQueryCacheStatistics(String finder) {
+        return JPAUtils.getStatistics().getQueryRegionStatistics(queryCacheRegion(finder));
+    }
+
+    // O resultado fica na região do finder e é invalidado pelo Hibernate quando a tabela book muda.
+    // Sessão que não grava nos caches (leitura em réplica) não usa o cache de consultas: no Hibernate 6.2 ele grava
+    // o resultado lido mesmo com CacheMode.GET.
+    private TypedQuery<Book> cacheable(EntityManager em, String finder, TypedQuery<Book> query) {
+        if (JPAUtils.isQueryCacheEnabled(finder) && em.unwrap(Session.class).getCacheMode().isPutEnabled()) {
+            query.setHint("org.hibernate.cacheable", true);
+            query.setHint("org.hibernate.cacheRegion", queryCacheRegion(finder));
+        }
+        return query;
+    }
+
+    private static String queryCacheRegion(String finder) {
+        String region = QUERY_CACHE_REGIONS.get(finder);
+        if (region == null) {
+            throw new IllegalArgumentException("Finder sem cache de resultados: " + finder);
+        }
+        return region;
+    }
+
+    // Aplicado em todas as variantes de cada finder (lista, página, stream, publisher): o mesmo parâmetro
+    // encontra as mesmas linhas em qualquer uma, e parâmetros equivalentes compartilham a entrada do cache
+    private static String normalize(String value) {
+        return value != null ? value.trim() : null;
+    }
 }
@@ -0,0 +1,13 @@
+package br.com.fuctura.dao;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+// Condição de um comando em massa (deleteWhere/updateWhere), montada com a Criteria API:
+//   bookDAO.deleteWhere((cb, book) -> cb.equal(book.get("category"), category))
+@FunctionalInterface
+public interface BulkCriteria<T> {
+
+    Predicate toPredicate(CriteriaBuilder cb, Root<T> root);
+}
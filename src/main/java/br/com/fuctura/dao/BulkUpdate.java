@@ -0,0 +1,12 @@
+package br.com.fuctura.dao;
+
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+
+// Atribuições (SET) de um updateWhere:
+//   bookDAO.updateWhere((update, book) -> update.set(book.get("category"), to), ...)
+@FunctionalInterface
+public interface BulkUpdate<T> {
+
+    void assign(CriteriaUpdate<T> update, Root<T> root);
+}
@@ -0,0 +1,139 @@
+package br.com.fuctura.dao;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Publisher frio sobre um cursor do banco: cada assinatura abre o próprio cursor (e EntityManager) no primeiro
+// request e lê uma linha por item pedido, então um assinante lento segura o cursor em vez de acumular linhas.
+// Os sinais de uma assinatura são entregues em série por uma thread do executor, nunca pela thread de request.
+// cancel, erro ou fim dos dados fecham o Stream, liberando cursor, transação e conexão.
+final class CursorPublisher<T> implements Flow.Publisher<T> {
+
+    private static final AtomicInteger THREADS = new AtomicInteger();
+    // JDBC bloqueia: threads próprias em vez do ForkJoinPool comum
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "cursor-publisher-" + THREADS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Supplier<Stream<T>> cursor;
+    private final Executor executor;
+
+    CursorPublisher(Supplier<Stream<T>> cursor) {
+        this(cursor, DEFAULT_EXECUTOR);
+    }
+
+    CursorPublisher(Supplier<Stream<T>> cursor, Executor executor) {
+        this.cursor = cursor;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        subscriber.onSubscribe(new CursorSubscription<>(subscriber, cursor, executor));
+    }
+
+    private static final class CursorSubscription<T> implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final Supplier<Stream<T>> cursor;
+        private final Executor executor;
+        private final AtomicLong demand = new AtomicLong();
+        // Sinais pendentes: só quem leva de 0 para 1 agenda o drain, garantindo uma thread por vez
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile IllegalArgumentException invalidRequest;
+
+        // Acessados apenas dentro de drain
+        private Stream<T> rows;
+        private Iterator<T> iterator;
+        private boolean done;
+
+        CursorSubscription(Flow.Subscriber<? super T> subscriber, Supplier<Stream<T>> cursor, Executor executor) {
+            this.subscriber = subscriber;
+            this.cursor = cursor;
+            this.executor = executor;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("request deve ser maior que zero: " + n);
+            } else {
+                demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (pending.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!done) {
+                    emit();
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            try {
+                while (!cancelled && invalidRequest == null && demand.get() > 0) {
+                    if (iterator == null) {
+                        rows = cursor.get();
+                        iterator = rows.iterator();
+                    }
+                    if (!iterator.hasNext()) {
+                        close();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    T next = iterator.next();
+                    if (demand.get() != Long.MAX_VALUE) {
+                        demand.decrementAndGet();
+                    }
+                    subscriber.onNext(next);
+                }
+                if (cancelled) {
+                    close();
+                } else if (invalidRequest != null) {
+                    close();
+                    subscriber.onError(invalidRequest);
+                }
+            } catch (Throwable e) {
+                close();
+                if (!cancelled) {
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        private void close() {
+            done = true;
+            if (rows != null) {
+                rows.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.fuctura.dao;
+
+// O que carregar junto com a entidade: nada além dos campos próprios (associações LAZY ficam como proxy)
+// ou as associações de um entity graph nomeado, resolvidas no mesmo SELECT.
+// readOnly() pede a leitura somente leitura só para esta chamada: entidades sem snapshot de dirty-checking e,
+// fora de uma unidade de trabalho, contexto sem flush e conexão read-only (réplica, quando configurada).
+public final class FetchPlan {
+
+    public static final FetchPlan NONE = new FetchPlan(null, false);
+    public static final FetchPlan READ_ONLY = new FetchPlan(null, true);
+
+    private final String graphName;
+    private final boolean readOnly;
+
+    private FetchPlan(String graphName, boolean readOnly) {
+        this.graphName = graphName;
+        this.readOnly = readOnly;
+    }
+
+    // Entity graph declarado com @NamedEntityGraph na entidade
+    public static FetchPlan graph(String graphName) {
+        if (graphName == null || graphName.isBlank()) {
+            throw new IllegalArgumentException("Nome do entity graph é obrigatório");
+        }
+        return new FetchPlan(graphName, false);
+    }
+
+    public FetchPlan readOnly() {
+        return readOnly ? this : new FetchPlan(graphName, true);
+    }
+
+    public String graphName() {
+        return graphName;
+    }
+
+    public boolean isNone() {
+        return graphName == null;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    @Override
+    public String toString() {
+        String plan = isNone() ? "FetchPlan.NONE" : "FetchPlan.graph(" + graphName + ")";
+        return readOnly ? plan + ".readOnly()" : plan;
+    }
+}
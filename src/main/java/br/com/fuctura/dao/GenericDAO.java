@@ -1,136 +1,471 @@
 package br.com.fuctura.dao;
 
+import jakarta.persistence.AttributeNode;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+import br.com.fuctura.metrics.DaoMetrics;
+import br.com.fuctura.metrics.OperationMetrics;
 import br.com.fuctura.util.JPAUtils;
+import br.com.fuctura.util.ReadOnlyConnections;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.graph.GraphSemantic;
+import org.hibernate.graph.RootGraph;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.Query;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+// DAOs não guardam estado mutável: cada chamada usa o EntityManager da UnitOfWork corrente
+// ou abre um próprio. Uma única instância pode ser compartilhada entre threads.
+// Cada operação registra latência, erros e comandos SQL em DaoMetrics como <Entidade>.<operação>.
 public abstract class GenericDAO<T, ID> {
-    protected EntityManager entityManager;
-    private Class<T> entityClass;
+    private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+    private static final String READ_ONLY_HINT = "org.hibernate.readOnly";
+    // Limite de itens em uma lista IN (Oracle: 1000)
+    private static final int MAX_IN_PARAMETERS = 1000;
+
+    private final Class<T> entityClass;
+    private final Map<String, OperationMetrics> metrics = new ConcurrentHashMap<>();
 
     public GenericDAO(Class<T> entityClass) {
         this.entityClass = entityClass;
-        this.entityManager = JPAUtils.getEntityManagerFactory().createEntityManager();
     }
 
+    // Entidade nova (id nulo) vai por persist: sem o SELECT do merge e a própria instância recebe o id
     public T save(T entity) {
-        try {
-            entityManager.getTransaction().begin();
-            entity = entityManager.merge(entity);
-            entityManager.getTransaction().commit();
-            return entity;
-        } catch (Exception e) {
-            if (entityManager.getTransaction().isActive()) {
-                entityManager.getTransaction().rollback();
-            }
-            throw e;
-        } finally {
-            if (entityManager != null && entityManager.isOpen()) {
-                entityManager.close();
-            }
-            this.entityManager = JPAUtils.getEntityManagerFactory().createEntityManager();
+        return write("save", em -> persistOrMerge(em, entity));
+    }
+
+    public long saveAll(Collection<T> entities) {
+        return saveAll(entities.stream());
+    }
+
+    // Insere/atualiza em lotes JDBC: flush + clear a cada hibernate.jdbc.batch_size linhas
+    // e commit a cada batch.commit_size linhas. Em caso de erro, apenas o bloco corrente é desfeito.
+    // Dentro de uma UnitOfWork apenas faz flush por lote: commit e limpeza do contexto ficam com a unidade.
+    public long saveAll(Stream<T> entities) {
+        int batchSize = JPAUtils.getBatchSize();
+        int commitSize = Math.max(JPAUtils.getCommitSize(), batchSize);
+        boolean ownTransaction = !UnitOfWork.isActive();
+        try (entities) {
+            return write("saveAll", em -> {
+                long count = 0;
+                Iterator<T> iterator = entities.iterator();
+                while (iterator.hasNext()) {
+                    persistOrMerge(em, iterator.next());
+                    count++;
+
+                    if (count % batchSize == 0) {
+                        em.flush();
+                        if (ownTransaction) {
+                            em.clear();
+                        }
+                    }
+                    if (ownTransaction && count % commitSize == 0) {
+                        em.getTransaction().commit();
+                        em.getTransaction().begin();
+                    }
+                }
+                return count;
+            });
         }
     }
 
     public Optional<T> findById(ID id) {
-        try {
-            T entity = entityManager.find(entityClass, id);
-            return Optional.ofNullable(entity);
-        } finally {
-            if (entityManager != null && entityManager.isOpen()) {
-                entityManager.close();
+        return findById(id, FetchPlan.NONE);
+    }
+
+    public Optional<T> findById(ID id, FetchPlan plan) {
+        return read("findById", plan, em -> {
+            boolean managed = plan.isReadOnly() && isManaged(em, id);
+            Optional<T> entity;
+            if (plan.isNone()) {
+                entity = Optional.ofNullable(em.find(entityClass, id));
+            } else {
+                @SuppressWarnings("unchecked")
+                RootGraph<T> graph = (RootGraph<T>) em.getEntityGraph(plan.graphName());
+                entity = em.unwrap(Session.class).byId(entityClass).with(graph, GraphSemantic.FETCH).loadOptional(id);
+                entity.ifPresent(loaded -> initializeGraph(em, loaded, graph));
             }
-            this.entityManager = JPAUtils.getEntityManagerFactory().createEntityManager();
-        }
+            // Entidade que já estava no contexto (e talvez alterada) mantém o modo em que foi carregada
+            if (plan.isReadOnly() && !managed) {
+                entity.ifPresent(loaded -> em.unwrap(Session.class).setReadOnly(loaded, true));
+            }
+            return entity;
+        });
     }
 
     public List<T> findAll() {
-        try {
-            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        return findAll(FetchPlan.NONE);
+    }
+
+    public List<T> findAll(FetchPlan plan) {
+        return read("findAll", plan, em -> {
+            CriteriaBuilder cb = em.getCriteriaBuilder();
             CriteriaQuery<T> cq = cb.createQuery(entityClass);
             Root<T> root = cq.from(entityClass);
             cq.select(root);
-            return entityManager.createQuery(cq).getResultList();
-        } finally {
-            if (entityManager != null && entityManager.isOpen()) {
-                entityManager.close();
+            return withPlan(em, em.createQuery(cq), plan).getResultList();
+        });
+    }
+
+
+    // Paginação por chave (keyset): próxima página após afterId (null = primeira página), ordenada pela PK
+    public List<T> findPage(ID afterId, int limit) {
+        return findPage("findPage", null, Map.of(), afterId, limit);
+    }
+
+    // Stream sobre um cursor do banco; o contexto de persistência é limpo a cada fetchSize linhas.
+    // O Stream deve ser fechado (try-with-resources) para liberar o cursor e a conexão.
+    public Stream<T> streamAll(int fetchSize) {
+        return stream("streamAll", null, Map.of(), fetchSize);
+    }
+
+    // Flow.Publisher sobre o mesmo cursor: linhas só são lidas conforme o assinante pede (request), com até
+    // prefetch linhas por ida ao banco. cancel fecha o cursor e o EntityManager.
+    public Flow.Publisher<T> publishAll(int prefetch) {
+        return publisher("publishAll", null, Map.of(), prefetch);
+    }
+
+    public T update(T entity) {
+        return write("update", em -> em.merge(entity));
+    }
+
+    public void deleteById(ID id) {
+        write("deleteById", em -> {
+            T entity = em.find(entityClass, id);
+            if (entity != null) {
+                em.remove(entity);
             }
-            this.entityManager = JPAUtils.getEntityManagerFactory().createEntityManager();
+            return null;
+        });
+    }
+
+    public void delete(T entity) {
+        write("delete", em -> {
+            em.remove(em.contains(entity) ? entity : em.merge(entity));
+            return null;
+        });
+    }
+
+    // DELETE em massa pela PK, sem carregar as entidades: um comando por bloco de 1000 ids
+    public int deleteByIds(Collection<ID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
         }
+        List<ID> idList = List.copyOf(ids);
+        return bulk("deleteByIds", em -> {
+            int deleted = 0;
+            for (int from = 0; from < idList.size(); from += MAX_IN_PARAMETERS) {
+                deleted += em.createQuery("DELETE FROM " + entityName() + " e WHERE e." + idAttribute() + " IN :ids")
+                        .setParameter("ids", idList.subList(from, Math.min(from + MAX_IN_PARAMETERS, idList.size())))
+                        .executeUpdate();
+            }
+            return deleted;
+        });
     }
 
+    // SELECT 1 pela PK: não materializa a entidade nem suas associações
+    public boolean existsById(ID id) {
+        return read("existsById", em -> !em.createQuery(
+                        "SELECT 1 FROM " + entityName() + " e WHERE e." + idAttribute() + " = :id", Integer.class)
+                .setParameter("id", id)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty());
+    }
 
-    public T update(T entity) {
-        try {
-            entityManager.getTransaction().begin();
-            entity = entityManager.merge(entity);
-            entityManager.getTransaction().commit();
-            return entity;
-        } catch (Exception e) {
-            if (entityManager.getTransaction().isActive()) {
-                entityManager.getTransaction().rollback();
+    protected List<T> findPage(String operation, String where, Map<String, Object> parameters, ID afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit deve ser maior que zero");
+        }
+        return read(operation, em -> {
+            String condition = afterId == null ? where
+                    : (where == null ? "" : "(" + where + ") AND ") + "e." + idAttribute() + " > :afterId";
+            TypedQuery<T> query = em.createQuery(selectJpql(condition), entityClass);
+            parameters.forEach(query::setParameter);
+            if (afterId != null) {
+                query.setParameter("afterId", afterId);
             }
-            throw e;
-        } finally {
-            if (entityManager != null && entityManager.isOpen()) {
-                entityManager.close();
+            return query.setMaxResults(limit).getResultList();
+        });
+    }
+
+    // DELETE FROM <Entidade> WHERE <criteria> em um único comando, sem carregar as entidades
+    public int deleteWhere(BulkCriteria<T> criteria) {
+        return deleteWhere("deleteWhere", criteria);
+    }
+
+    // UPDATE <Entidade> SET <assignments> WHERE <criteria> em um único comando, sem carregar as entidades
+    public int updateWhere(BulkUpdate<T> assignments, BulkCriteria<T> criteria) {
+        return updateWhere("updateWhere", assignments, criteria);
+    }
+
+    // Variantes com nome próprio nas métricas (ex: BookDAO.deleteByCategory)
+    protected int deleteWhere(String operation, BulkCriteria<T> criteria) {
+        Objects.requireNonNull(criteria, "criteria é obrigatório: DELETE sem condição apagaria a tabela");
+        return bulk(operation, em -> {
+            CriteriaBuilder cb = em.getCriteriaBuilder();
+            CriteriaDelete<T> delete = cb.createCriteriaDelete(entityClass);
+            Root<T> root = delete.from(entityClass);
+            delete.where(criteria.toPredicate(cb, root));
+            return em.createQuery(delete).executeUpdate();
+        });
+    }
+
+    protected int updateWhere(String operation, BulkUpdate<T> assignments, BulkCriteria<T> criteria) {
+        Objects.requireNonNull(assignments, "assignments é obrigatório");
+        Objects.requireNonNull(criteria, "criteria é obrigatório: UPDATE sem condição alteraria a tabela inteira");
+        return bulk(operation, em -> {
+            CriteriaBuilder cb = em.getCriteriaBuilder();
+            CriteriaUpdate<T> update = cb.createCriteriaUpdate(entityClass);
+            Root<T> root = update.from(entityClass);
+            assignments.assign(update, root);
+            update.where(criteria.toPredicate(cb, root));
+            return em.createQuery(update).executeUpdate();
+        });
+    }
+
+    // Comandos em massa não passam pelo contexto de persistência: o Hibernate descarta as regiões de
+    // entidade/natural id e invalida o cache de consultas da tabela, mas entidades já carregadas na
+    // UnitOfWork corrente continuam com o estado antigo
+    private int bulk(String operation, Function<EntityManager, Integer> work) {
+        int affected = write(operation, work);
+        if (affected > 0) {
+            afterBulkChange();
+        }
+        return affected;
+    }
+
+    // Gancho para estruturas mantidas por listeners de entidade, que não veem comandos em massa
+    protected void afterBulkChange() {
+    }
+
+    // Fetch graph: as associações do graph vêm no mesmo SELECT (join); as demais seguem o mapeamento
+    protected <Q extends TypedQuery<?>> Q withPlan(EntityManager em, Q query, FetchPlan plan) {
+        if (!plan.isNone()) {
+            query.setHint(FETCH_GRAPH_HINT, em.getEntityGraph(plan.graphName()));
+        }
+        if (plan.isReadOnly()) {
+            query.setHint(READ_ONLY_HINT, true);
+        }
+        return query;
+    }
+
+    private boolean isManaged(EntityManager em, ID id) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(entityClass);
+        return session.getPersistenceContextInternal().containsEntity(session.generateEntityKey(id, persister));
+    }
+
+    // Entidade vinda do cache de segunda camada não passa pelo join: inicializa as associações do graph
+    // (que por sua vez costumam estar em cache)
+    private void initializeGraph(EntityManager em, T entity, RootGraph<T> graph) {
+        PersistenceUnitUtil units = em.getEntityManagerFactory().getPersistenceUnitUtil();
+        EntityPersister persister = em.unwrap(SessionImplementor.class).getEntityPersister(null, entity);
+        for (AttributeNode<?> node : graph.getAttributeNodes()) {
+            if (!units.isLoaded(entity, node.getAttributeName())) {
+                Hibernate.initialize(persister.getPropertyValue(entity, node.getAttributeName()));
             }
-            this.entityManager = JPAUtils.getEntityManagerFactory().createEntityManager();
         }
     }
 
-    public void deleteById(ID id) {
+    // Leitura: usa o EntityManager da UnitOfWork corrente ou um próprio, fechado ao final
+    protected <R> R read(String operation, Function<EntityManager, R> work) {
+        return read(operation, FetchPlan.NONE, work);
+    }
+
+    // Com plan.isReadOnly() o EntityManager próprio é somente leitura (dentro de uma unidade, quem decide é ela;
+    // as consultas recebem o hint via withPlan)
+    protected <R> R read(String operation, FetchPlan plan, Function<EntityManager, R> work) {
+        return DaoMetrics.measure(metrics(operation), () -> read(plan.isReadOnly(), work));
+    }
+
+    // Escrita: participa da transação da UnitOfWork corrente ou abre (e confirma) uma própria
+    protected <R> R write(String operation, Function<EntityManager, R> work) {
+        return DaoMetrics.measure(metrics(operation), () -> write(work));
+    }
+
+    private <R> R read(boolean readOnly, Function<EntityManager, R> work) {
+        EntityManager bound = UnitOfWork.currentEntityManager();
+        if (bound != null) {
+            return work.apply(bound);
+        }
+        EntityManager entityManager = JPAUtils.getEntityManager();
         try {
-            entityManager.getTransaction().begin();
-            T entity = entityManager.find(entityClass, id);
-            if (entity != null) {
-                entityManager.remove(entity);
+            if (!readOnly) {
+                return work.apply(entityManager);
             }
-            entityManager.getTransaction().commit();
-        } catch (Exception e) {
-            if (entityManager.getTransaction().isActive()) {
-                entityManager.getTransaction().rollback();
-            }
-            throw e;
+            return ReadOnlyConnections.call(() -> {
+                UnitOfWork.configureReadOnly(entityManager);
+                return work.apply(entityManager);
+            });
         } finally {
-            if (entityManager != null && entityManager.isOpen()) {
-                entityManager.close();
-            }
-            this.entityManager = JPAUtils.getEntityManagerFactory().createEntityManager();
+            entityManager.close();
         }
     }
 
-    public void delete(T entity) {
+    private <R> R write(Function<EntityManager, R> work) {
+        EntityManager bound = UnitOfWork.currentEntityManager();
+        if (bound != null) {
+            UnitOfWork.checkWritable();
+            return work.apply(bound);
+        }
+        EntityManager entityManager = JPAUtils.getEntityManager();
         try {
             entityManager.getTransaction().begin();
-            entityManager.remove(entityManager.contains(entity) ? entity : entityManager.merge(entity));
+            R result = work.apply(entityManager);
             entityManager.getTransaction().commit();
+            return result;
         } catch (Exception e) {
             if (entityManager.getTransaction().isActive()) {
                 entityManager.getTransaction().rollback();
             }
             throw e;
         } finally {
-            if (entityManager != null && entityManager.isOpen()) {
-                entityManager.close();
+            entityManager.close();
+        }
+    }
+
+    // Mede apenas a abertura do cursor: o consumo do Stream fica com quem o lê
+    protected Stream<T> stream(String operation, String where, Map<String, Object> parameters, int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("fetchSize deve ser maior que zero");
+        }
+        return DaoMetrics.measure(metrics(operation), () -> openStream(where, parameters, fetchSize));
+    }
+
+    // Cada assinatura abre o próprio cursor via stream, no primeiro request
+    protected Flow.Publisher<T> publisher(String operation, String where, Map<String, Object> parameters, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch deve ser maior que zero");
+        }
+        return new CursorPublisher<>(() -> stream(operation, where, parameters, prefetch));
+    }
+
+    // O cursor tem EntityManager próprio; aberto dentro de uma UnitOfWork.readOnly, ele também é somente leitura
+    private Stream<T> openStream(String where, Map<String, Object> parameters, int fetchSize) {
+        boolean readOnly = ReadOnlyConnections.isRequested();
+        EntityManager streamEntityManager = JPAUtils.getEntityManager();
+        try {
+            if (readOnly) {
+                UnitOfWork.configureReadOnly(streamEntityManager);
+            }
+            // Cursores no PostgreSQL só funcionam dentro de uma transação
+            streamEntityManager.getTransaction().begin();
+            Session session = streamEntityManager.unwrap(Session.class);
+            Query<T> query = session.createQuery(selectJpql(where), entityClass);
+            parameters.forEach(query::setParameter);
+            ScrollableResults<T> results = withConnections(readOnly, () -> query
+                    .setFetchSize(fetchSize)
+                    .setReadOnly(true)
+                    .scroll(ScrollMode.FORWARD_ONLY));
+
+            Runnable release = () -> {
+                results.close();
+                if (streamEntityManager.getTransaction().isActive()) {
+                    streamEntityManager.getTransaction().rollback();
+                }
+                if (streamEntityManager.isOpen()) {
+                    streamEntityManager.close();
+                }
+            };
+
+            Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                private long rows;
+
+                @Override
+                public boolean tryAdvance(Consumer<? super T> action) {
+                    if (!streamEntityManager.isOpen()) {
+                        return false;
+                    }
+                    if (rows > 0 && rows % fetchSize == 0) {
+                        session.clear();
+                    }
+                    // O scroll só executa a consulta no primeiro next: a conexão é obtida aqui
+                    if (!withConnections(readOnly, results::next)) {
+                        release.run();
+                        return false;
+                    }
+                    rows++;
+                    action.accept(results.get());
+                    return true;
+                }
+            };
+            return StreamSupport.stream(spliterator, false).onClose(release);
+        } catch (RuntimeException e) {
+            if (streamEntityManager.getTransaction().isActive()) {
+                streamEntityManager.getTransaction().rollback();
             }
-            this.entityManager = JPAUtils.getEntityManagerFactory().createEntityManager();
+            streamEntityManager.close();
+            throw e;
         }
     }
 
-    public boolean existsById(ID id) {
-        return findById(id).isPresent();
+    private static <R> R withConnections(boolean readOnly, Supplier<R> work) {
+        return readOnly ? ReadOnlyConnections.call(work) : work.get();
     }
 
-    public void close() {
-        if (entityManager != null && entityManager.isOpen()) {
-            entityManager.close();
+    // SELECT e FROM <Entidade> e [WHERE ...] ORDER BY e.<id>
+    private String selectJpql(String where) {
+        return "SELECT e FROM " + entityName() + " e"
+                + (where == null || where.isBlank() ? "" : " WHERE " + where)
+                + " ORDER BY e." + idAttribute();
+    }
+
+    private OperationMetrics metrics(String operation) {
+        return metrics.computeIfAbsent(operation, name -> DaoMetrics.operation(entityClass.getSimpleName() + "." + name));
+    }
+
+    private String entityName() {
+        return JPAUtils.getEntityManagerFactory().getMetamodel().entity(entityClass).getName();
+    }
+
+    private String idAttribute() {
+        EntityType<T> entityType = JPAUtils.getEntityManagerFactory().getMetamodel().entity(entityClass);
+        return entityType.getId(entityType.getIdType().getJavaType()).getName();
+    }
+
+    private T persistOrMerge(EntityManager em, T entity) {
+        if (isNew(entity)) {
+            em.persist(entity);
+            return entity;
         }
+        return em.merge(entity);
+    }
+
+    protected boolean isNew(T entity) {
+        return JPAUtils.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity) == null;
+    }
+
+    // Mantido por compatibilidade: o DAO não guarda EntityManager, não há o que liberar
+    public void close() {
     }
 
     public void closeFactory() {
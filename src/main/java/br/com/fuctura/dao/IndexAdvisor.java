@@ -0,0 +1,181 @@
+package br.com.fuctura.dao;
+
+import br.com.fuctura.metrics.StatementCounter;
+import br.com.fuctura.util.DbException;
+import br.com.fuctura.util.JPAUtils;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Roda cada consulta registrada, captura o primeiro SELECT que ela gera e pede o plano ao banco:
+// EXPLAIN (ANALYZE, BUFFERS) no PostgreSQL, EXPLAIN no H2. Varredura sequencial numa consulta que
+// deveria usar índice vira violação. Os parâmetros do registro são ligados ao SQL capturado na ordem dos '?'.
+// A consulta roda numa unidade que ignora os caches de segundo nível e de consultas (CacheMode.IGNORE), para que o
+// SQL chegue ao banco sem esvaziar nem preencher os caches compartilhados com o resto da aplicação.
+public final class IndexAdvisor {
+
+    public record Finding(String query, String sql, List<String> plan, List<String> scannedTables,
+                          boolean indexExpected, String reason) {
+
+        public boolean isViolation() {
+            return indexExpected && !scannedTables.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            String status = scannedTables.isEmpty() ? "usa índice"
+                    : "varredura em " + String.join(", ", scannedTables)
+                    + (indexExpected ? " — ÍNDICE AUSENTE" : " (permitida: " + reason + ")");
+            return query + ": " + status + "\n    " + sql + "\n    " + String.join("\n    ", plan);
+        }
+    }
+
+    private record Registration(String name, Runnable call, Object[] parameters, boolean indexExpected, String reason) {
+    }
+
+    // H2: cada tabela do FROM/JOIN é seguida do acesso escolhido, /* PUBLIC.IX_BOOK_AUTHOR: AUTHOR = ?1 */;
+    // sem condição (/* PUBLIC.BOOK.tableScan */ ou /* PUBLIC.PRIMARY_KEY_1 */) a tabela é lida inteira
+    private static final Pattern H2_TABLE = Pattern.compile("(?:FROM|JOIN)\\s+\"?\\w+\"?\\.\"?(\\w+)\"?");
+    // PostgreSQL: Seq Scan on book b1_0
+    private static final Pattern PG_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern SEQUENCE_CALL = Pattern.compile("next value for|nextval\\(");
+
+    private static final String RETRIEVE_MODE = "jakarta.persistence.cache.retrieveMode";
+    private static final String STORE_MODE = "jakarta.persistence.cache.storeMode";
+
+    private final List<Registration> registrations = new ArrayList<>();
+
+    // A consulta precisa usar índice em todas as tabelas que lê
+    public IndexAdvisor expectIndex(String name, Runnable call, Object... parameters) {
+        registrations.add(new Registration(name, call, parameters, true, null));
+        return this;
+    }
+
+    // Varredura aceita, com o motivo (ex: LIKE com curinga no início não usa B-tree)
+    public IndexAdvisor allowScan(String name, String reason, Runnable call, Object... parameters) {
+        registrations.add(new Registration(name, call, parameters, false, reason));
+        return this;
+    }
+
+    public List<Finding> analyze() {
+        boolean postgres = JPAUtils.isPostgreSQL();
+        List<Finding> findings = new ArrayList<>(registrations.size());
+        for (Registration registration : registrations) {
+            String sql = capture(registration);
+            List<String> plan = explain(sql, registration.parameters(), postgres);
+            findings.add(new Finding(registration.name(), sql, plan, scannedTables(plan, postgres),
+                    registration.indexExpected(), registration.reason()));
+        }
+        return findings;
+    }
+
+    public static List<Finding> violations(List<Finding> findings) {
+        return findings.stream().filter(Finding::isViolation).toList();
+    }
+
+    // Somente leitura: a consulta registrada não pode escrever. As propriedades JPA, e não só setCacheMode,
+    // porque o find recalcula o modo de cache a partir delas.
+    private static String capture(Registration registration) {
+        List<String> statements = StatementCounter.capture(() -> UnitOfWork.readOnly(() -> {
+            EntityManager em = UnitOfWork.currentEntityManager();
+            em.setProperty(RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+            em.setProperty(STORE_MODE, CacheStoreMode.BYPASS);
+            registration.call().run();
+            return null;
+        }));
+        return statements.stream()
+                .filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith("select"))
+                .filter(sql -> !SEQUENCE_CALL.matcher(sql.toLowerCase(Locale.ROOT)).find())
+                .findFirst()
+                .orElseThrow(() -> new DbException("Nenhum SELECT capturado para " + registration.name()));
+    }
+
+    private static List<String> explain(String sql, Object[] parameters, boolean postgres) {
+        int placeholders = placeholders(sql);
+        if (placeholders != parameters.length) {
+            throw new IllegalArgumentException(String.format(
+                    "%d parâmetros informados para %d '?' em: %s", parameters.length, placeholders, sql));
+        }
+        EntityManager em = JPAUtils.getEntityManager();
+        try {
+            // No PostgreSQL o ANALYZE executa a consulta: a transação é sempre desfeita
+            em.getTransaction().begin();
+            return em.unwrap(Session.class).doReturningWork(connection -> plan(connection, sql, parameters, postgres));
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.close();
+        }
+    }
+
+    private static List<String> plan(Connection connection, String sql, Object[] parameters, boolean postgres)
+            throws SQLException {
+        if (postgres) {
+            // Com poucas linhas o planejador prefere Seq Scan mesmo com índice; desligado, só varre quem não tem índice
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL enable_seqscan = off");
+            }
+        }
+        String explain = (postgres ? "EXPLAIN (ANALYZE, BUFFERS) " : "EXPLAIN ") + sql;
+        try (PreparedStatement statement = connection.prepareStatement(explain)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            List<String> plan = new ArrayList<>();
+            try (ResultSet results = statement.executeQuery()) {
+                while (results.next()) {
+                    plan.addAll(List.of(results.getString(1).split("\\R")));
+                }
+            }
+            return plan;
+        }
+    }
+
+    private static List<String> scannedTables(List<String> plan, boolean postgres) {
+        Set<String> tables = new LinkedHashSet<>();
+        String pending = null;
+        for (String line : plan) {
+            Matcher matcher = (postgres ? PG_SCAN : H2_TABLE).matcher(line);
+            if (matcher.find()) {
+                if (postgres) {
+                    tables.add(matcher.group(1).toLowerCase(Locale.ROOT));
+                } else {
+                    pending = matcher.group(1).toLowerCase(Locale.ROOT);
+                }
+            } else if (pending != null && line.trim().startsWith("/*")) {
+                if (!line.contains(":")) {
+                    tables.add(pending);
+                }
+                pending = null;
+            }
+        }
+        return List.copyOf(tables);
+    }
+
+    private static int placeholders(String sql) {
+        String withoutLiterals = STRING_LITERAL.matcher(sql).replaceAll("''");
+        int count = 0;
+        for (int i = 0; i < withoutLiterals.length(); i++) {
+            if (withoutLiterals.charAt(i) == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.fuctura.dao;
+
+import br.com.fuctura.metrics.NPlusOneDetector;
+import br.com.fuctura.util.DbException;
+import br.com.fuctura.util.JPAUtils;
+import br.com.fuctura.util.ReadOnlyConnections;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+
+import java.util.function.Supplier;
+
+// Unidade de trabalho: todas as chamadas de DAO feitas dentro do callback, na mesma thread,
+// compartilham um único EntityManager, transação e conexão.
+//
+//   UnitOfWork.inTransaction(() -> {
+//       if (bookDAO.existsById(id)) { bookDAO.deleteById(id); }
+//       return null;
+//   });
+public final class UnitOfWork {
+
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+    private static final String STORE_MODE = "jakarta.persistence.cache.storeMode";
+
+    private final EntityManager entityManager;
+    private final boolean readOnly;
+
+    private UnitOfWork(EntityManager entityManager, boolean readOnly) {
+        this.entityManager = entityManager;
+        this.readOnly = readOnly;
+    }
+
+    // Commit ao final do callback; rollback se ele lançar exceção
+    public static <R> R inTransaction(Supplier<R> work) {
+        return execute(false, work);
+    }
+
+    // Somente leitura: entidades sem snapshot de dirty-checking, sem flush, conexão read-only;
+    // a transação é sempre desfeita e operações de escrita dos DAOs são rejeitadas
+    public static <R> R readOnly(Supplier<R> work) {
+        return execute(true, work);
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static EntityManager currentEntityManager() {
+        UnitOfWork current = CURRENT.get();
+        return current != null ? current.entityManager : null;
+    }
+
+    static void checkWritable() {
+        UnitOfWork current = CURRENT.get();
+        if (current != null && current.readOnly) {
+            throw new DbException("Operação de escrita dentro de uma unidade de trabalho somente leitura");
+        }
+    }
+
+    // Entidades carregadas como read-only (o Hibernate descarta o estado usado no dirty-checking)
+    // e nenhum flush automático antes das consultas. Chamado dentro da marcação ReadOnlyConnections.
+    // Leitura que vai a uma réplica pode vir de um banco atrasado: consulta os caches (preenchidos pelo primário)
+    // mas não grava neles (storeMode BYPASS, CacheMode.GET na sessão), senão o resultado antigo ficaria no cache
+    // como mais novo que a última invalidação. Leituras no primário (read-your-writes) usam os caches normalmente.
+    // A propriedade JPA, e não só setCacheMode, porque o find recalcula o modo a partir dela.
+    static void configureReadOnly(EntityManager entityManager) {
+        Session session = entityManager.unwrap(Session.class);
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+        if (JPAUtils.readsFromReplica()) {
+            entityManager.setProperty(STORE_MODE, CacheStoreMode.BYPASS);
+        }
+    }
+
+    private static <R> R execute(boolean readOnly, Supplier<R> work) {
+        UnitOfWork current = CURRENT.get();
+        if (current != null) {
+            // Unidades aninhadas participam da unidade externa
+            if (current.readOnly && !readOnly) {
+                throw new DbException("Não é possível abrir uma transação de escrita dentro de uma unidade somente leitura");
+            }
+            return work.get();
+        }
+
+        EntityManager entityManager = JPAUtils.getEntityManager();
+        CURRENT.set(new UnitOfWork(entityManager, readOnly));
+        // A unidade inteira é um escopo do detector de N+1 (os DAOs chamados dentro dela acumulam nele)
+        NPlusOneDetector.beginUnitOfWork();
+        boolean failed = true;
+        try {
+            // Somente leitura: begin e rollback também ficam dentro da marcação, pois o rollback de uma unidade
+            // que não usou a conexão ainda obtém uma (no primário ela abriria a janela de read-your-writes)
+            R result = readOnly ? ReadOnlyConnections.call(() -> run(entityManager, true, work))
+                    : run(entityManager, false, work);
+            failed = false;
+            return result;
+        } finally {
+            CURRENT.remove();
+            entityManager.close();
+            NPlusOneDetector.endUnitOfWork(failed);
+        }
+    }
+
+    private static <R> R run(EntityManager entityManager, boolean readOnly, Supplier<R> work) {
+        try {
+            if (readOnly) {
+                configureReadOnly(entityManager);
+            }
+            entityManager.getTransaction().begin();
+            R result = work.get();
+            if (readOnly) {
+                entityManager.getTransaction().rollback();
+            } else {
+                entityManager.getTransaction().commit();
+            }
+            return result;
+        } catch (RuntimeException e) {
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+            throw e;
+        }
+    }
+}
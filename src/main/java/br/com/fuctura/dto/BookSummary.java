@@ -0,0 +1,8 @@
+package br.com.fuctura.dto;
+
+import java.time.LocalDate;
+
+// Linha de listagem de livros: montada direto do SELECT (expressão de construtor JPQL),
+// sem entidade gerenciada, snapshot de dirty-checking nem sinopse
+public record BookSummary(Long id, String title, String author, LocalDate releaseYear, String categoryName) {
+}
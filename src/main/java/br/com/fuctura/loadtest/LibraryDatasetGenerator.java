@@ -0,0 +1,127 @@
+package br.com.fuctura.loadtest;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.dao.CategoryDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.search.InMemoryBookIndex;
+import br.com.fuctura.util.JPAUtils;
+import jakarta.persistence.EntityManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+// Gera um acervo determinístico: a mesma semente produz os mesmos livros, autores e ISBNs.
+// Autores e categorias seguem uma distribuição enviesada (poucos muito populares, cauda longa).
+public class LibraryDatasetGenerator {
+
+    static final String[] GENRES = {"Romance", "Fantasia", "Ficção Científica", "Suspense", "Biografia", "História",
+            "Poesia", "Tecnologia", "Filosofia", "Infantil", "Autoajuda", "Terror", "Aventura", "Negócios", "Arte"};
+    static final String[] FIRST_NAMES = {"Ana", "João", "Maria", "Pedro", "Lucas", "Julia", "Carlos", "Beatriz",
+            "Rafael", "Fernanda", "Gabriel", "Larissa", "Marcos", "Patrícia", "Thiago", "Camila", "Bruno", "Helena",
+            "Diego", "Sofia", "Eduardo", "Clara", "Felipe", "Marina", "Gustavo"};
+    static final String[] LAST_NAMES = {"Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira", "Costa",
+            "Ferreira", "Almeida", "Ribeiro", "Carvalho", "Gomes", "Martins", "Araújo", "Barbosa", "Rocha", "Dias",
+            "Moreira", "Cardoso", "Teixeira"};
+    static final String[] TITLE_WORDS = {"sombra", "império", "rio", "inverno", "jardim", "máquina", "oceano",
+            "coroa", "floresta", "sinal", "porto", "silêncio", "motor", "espelho", "dragão", "cidade", "memória",
+            "estrela", "caminho", "segredo", "tempestade", "ilha", "labirinto", "fogo", "noite", "vento", "areia",
+            "relógio", "deserto", "farol"};
+    private static final String[] TITLE_PREFIXES = {"O", "A", "Os", "As", "Crônicas de", "O Último", "A Casa do",
+            "Além do", "Sob o", "Entre o"};
+
+    private static final int PROGRESS_CHUNK = 100_000;
+
+    private final long seed;
+    private final BookDAO bookDAO = new BookDAO();
+    private final CategoryDAO categoryDAO = new CategoryDAO();
+
+    public LibraryDatasetGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public long generate(int categoryCount, long bookCount, boolean reset) {
+        if (reset) {
+            reset();
+        }
+        List<Category> categories = new ArrayList<>(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            categories.add(new Category(categoryName(i), "Categoria gerada (semente " + seed + ")"));
+        }
+        categoryDAO.saveAll(categories);
+
+        long start = System.nanoTime();
+        long saved = 0;
+        for (long from = 0; from < bookCount; from += PROGRESS_CHUNK) {
+            long to = Math.min(bookCount, from + PROGRESS_CHUNK);
+            saved += bookDAO.saveAll(LongStream.range(from, to).mapToObj(i -> book(i, bookCount, categories)));
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            System.out.printf("📚 %,d/%,d livros (%.0f livros/s)%n", saved, bookCount, saved / seconds);
+        }
+        return saved;
+    }
+
+    // Livro de índice i: todos os campos derivam apenas de (semente, i)
+    Book book(long index, long bookCount, List<Category> categories) {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+        long author = skewed(random, authorCount(bookCount));
+        Category category = categories.get((int) skewed(random, categories.size()));
+        LocalDate release = LocalDate.of(1900 + random.nextInt(125), 1 + random.nextInt(12), 1 + random.nextInt(28));
+        return new Book(title(random), authorName(author), "Sinopse gerada do livro " + index, isbn(index),
+                release, category);
+    }
+
+    static String isbn(long index) {
+        return String.format("978%010d", index);
+    }
+
+    static long authorCount(long bookCount) {
+        return Math.max(10, bookCount / 25);
+    }
+
+    static String authorName(long author) {
+        int names = FIRST_NAMES.length * LAST_NAMES.length;
+        String name = FIRST_NAMES[(int) (author % FIRST_NAMES.length)] + " "
+                + LAST_NAMES[(int) ((author / FIRST_NAMES.length) % LAST_NAMES.length)];
+        return author < names ? name : name + " " + (author / names + 1);
+    }
+
+    static String categoryName(int index) {
+        String genre = GENRES[index % GENRES.length];
+        return index < GENRES.length ? genre : genre + " " + (index / GENRES.length + 1);
+    }
+
+    // Posição em [0, n) com distribuição aproximadamente Zipf: ranks baixos são muito mais frequentes.
+    // O rank é espalhado pelo intervalo para que os itens populares não sejam só os primeiros gerados.
+    static long skewed(SplittableRandom random, long n) {
+        long rank = (long) Math.pow(n, random.nextDouble()) - 1;
+        return Math.floorMod(rank * 2_654_435_761L, n);
+    }
+
+    private static String title(SplittableRandom random) {
+        String title = TITLE_PREFIXES[random.nextInt(TITLE_PREFIXES.length)] + " "
+                + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)];
+        if (random.nextInt(3) == 0) {
+            title += " e o " + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)];
+        }
+        return Character.toUpperCase(title.charAt(0)) + title.substring(1);
+    }
+
+    private static void reset() {
+        EntityManager em = JPAUtils.getEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.createQuery("DELETE FROM Book").executeUpdate();
+            em.createQuery("DELETE FROM Category").executeUpdate();
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+        // DELETE em massa não passa pelos listeners nem pelo cache de segunda camada
+        JPAUtils.getEntityManagerFactory().getCache().evictAll();
+        InMemoryBookIndex.getInstance().invalidate();
+    }
+}
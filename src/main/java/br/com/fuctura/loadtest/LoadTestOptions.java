@@ -0,0 +1,99 @@
+package br.com.fuctura.loadtest;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+// Opções da linha de comando no formato --chave=valor (ver Application)
+public record LoadTestOptions(
+        int categories,
+        long books,
+        long seed,
+        boolean reset,
+        int threads,
+        int durationSeconds,
+        int warmupSeconds,
+        Map<Operation, Integer> mix) {
+
+    public static final String USAGE = String.join(System.lineSeparator(),
+            "Uso: Application <generate|run|all|import|export> [opções]",
+            "  generate  --categories=20 --books=10000 --seed=42 [--reset]",
+            "  run       --threads=8 --duration=60 --warmup=10 --seed=42",
+            "            --mix=findById:45,findByIsbn:10,findByAuthor:15,findByTitle:10,update:10,insert:5,delete:5",
+            "  all       generate seguido de run (aceita as opções dos dois)");
+
+    public static LoadTestOptions parse(String[] args, int offset) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = offset; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Opção inválida: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(separator < 0 ? arg.substring(2) : arg.substring(2, separator),
+                    separator < 0 ? "true" : arg.substring(separator + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                positiveInt(values.remove("categories"), 20, "categories"),
+                positiveLong(values.remove("books"), 10_000, "books"),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Boolean.parseBoolean(values.getOrDefault("reset", "false")),
+                positiveInt(values.remove("threads"), 8, "threads"),
+                positiveInt(values.remove("duration"), 60, "duration"),
+                nonNegativeInt(values.remove("warmup"), 10, "warmup"),
+                parseMix(values.remove("mix")));
+        values.remove("seed");
+        values.remove("reset");
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Opções desconhecidas: " + values.keySet());
+        }
+        return options;
+    }
+
+    // Pesos relativos de cada operação; as omitidas em --mix ficam com peso 0
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        if (mix == null) {
+            for (Operation operation : Operation.values()) {
+                weights.put(operation, operation.defaultWeight());
+            }
+            return weights;
+        }
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Entrada de --mix inválida: " + entry);
+            }
+            weights.put(Operation.fromName(parts[0].trim()), nonNegativeInt(parts[1], 0, "mix"));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("--mix precisa de ao menos uma operação com peso > 0");
+        }
+        return weights;
+    }
+
+    private static int positiveInt(String value, int defaultValue, String name) {
+        int parsed = value == null ? defaultValue : Integer.parseInt(value.trim());
+        if (parsed <= 0) {
+            throw new IllegalArgumentException("--" + name + " deve ser maior que zero");
+        }
+        return parsed;
+    }
+
+    private static long positiveLong(String value, long defaultValue, String name) {
+        long parsed = value == null ? defaultValue : Long.parseLong(value.trim().replace("_", ""));
+        if (parsed <= 0) {
+            throw new IllegalArgumentException("--" + name + " deve ser maior que zero");
+        }
+        return parsed;
+    }
+
+    private static int nonNegativeInt(String value, int defaultValue, String name) {
+        int parsed = value == null ? defaultValue : Integer.parseInt(value.trim());
+        if (parsed < 0) {
+            throw new IllegalArgumentException("--" + name + " não pode ser negativo");
+        }
+        return parsed;
+    }
+}
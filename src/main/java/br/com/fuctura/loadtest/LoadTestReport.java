@@ -0,0 +1,86 @@
+package br.com.fuctura.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latências por operação (HdrHistogram em microssegundos) e contagem de erros
+public class LoadTestReport {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, String> lastErrors = new EnumMap<>(Operation.class);
+    private long elapsedMillis;
+
+    LoadTestReport() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long nanos) {
+        latencies.get(operation).recordValue(Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    void recordError(Operation operation, RuntimeException e) {
+        errors.get(operation).increment();
+        synchronized (lastErrors) {
+            lastErrors.put(operation, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    void finish(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long count(Operation operation) {
+        return latencies.get(operation).getTotalCount();
+    }
+
+    public long errors(Operation operation) {
+        return errors.get(operation).sum();
+    }
+
+    public long totalCount() {
+        return latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    public long totalErrors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public double throughput(Operation operation) {
+        return elapsedMillis == 0 ? 0 : count(operation) * 1000.0 / elapsedMillis;
+    }
+
+    // Percentil em milissegundos (ex: 99.9)
+    public double percentileMillis(Operation operation, double percentile) {
+        return latencies.get(operation).getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%n%-13s %10s %8s %10s %9s %9s %9s %9s%n",
+                "operação", "total", "erros", "ops/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            if (histogram.getTotalCount() == 0 && errors(operation) == 0) {
+                continue;
+            }
+            out.printf("%-13s %,10d %,8d %,10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.label(), histogram.getTotalCount(), errors(operation), throughput(operation),
+                    percentileMillis(operation, 50), percentileMillis(operation, 99),
+                    percentileMillis(operation, 99.9), histogram.getMaxValue() / 1000.0);
+        }
+        out.printf("%-13s %,10d %,8d %,10.1f%n", "total", totalCount(), totalErrors(),
+                elapsedMillis == 0 ? 0 : totalCount() * 1000.0 / elapsedMillis);
+        lastErrors.forEach((operation, error) -> out.printf("⚠️ %s: %s%n", operation.label(), error));
+    }
+}
@@ -0,0 +1,166 @@
+package br.com.fuctura.loadtest;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.dao.UnitOfWork;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.JPAUtils;
+import jakarta.persistence.EntityManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Carga mista de leituras e escritas sobre um acervo já gerado, por um tempo fixo e N threads.
+// Os alvos seguem a mesma distribuição enviesada do gerador (livros e autores populares).
+public class MixedWorkload {
+
+    private final LoadTestOptions options;
+    private final BookDAO bookDAO = new BookDAO();
+    private final ConcurrentLinkedDeque<Long> inserted = new ConcurrentLinkedDeque<>();
+    private final AtomicLong insertSequence = new AtomicLong();
+
+    private final Operation[] table;
+    private long minId;
+    private long idRange;
+    private long bookCount;
+    private List<Category> categories;
+
+    public MixedWorkload(LoadTestOptions options) {
+        this.options = options;
+        this.table = weightTable(options.mix());
+    }
+
+    public LoadTestReport run() throws InterruptedException {
+        loadDatasetShape();
+        LoadTestReport report = new LoadTestReport();
+
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+        System.out.printf("🚀 %d threads, %ds de aquecimento + %ds medidos sobre %,d livros%n",
+                options.threads(), options.warmupSeconds(), options.durationSeconds(), bookCount);
+
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads());
+        List<Future<?>> workers = new ArrayList<>(options.threads());
+        for (int i = 0; i < options.threads(); i++) {
+            SplittableRandom random = new SplittableRandom(options.seed() + 31L * i);
+            workers.add(executor.submit(() -> work(random, report, warmupEnd, end)));
+        }
+        executor.shutdown();
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Thread de carga terminou com erro", e.getCause());
+            }
+        }
+        report.finish(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - warmupEnd));
+        return report;
+    }
+
+    private void work(SplittableRandom random, LoadTestReport report, long warmupEnd, long end) {
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            Operation operation = table[random.nextInt(table.length)];
+            try {
+                operation = execute(operation, random);
+                if (now >= warmupEnd) {
+                    report.record(operation, System.nanoTime() - now);
+                }
+            } catch (RuntimeException e) {
+                if (now >= warmupEnd) {
+                    report.recordError(operation, e);
+                }
+            }
+        }
+    }
+
+    // Retorna a operação de fato executada (delete sem livro disponível vira insert)
+    private Operation execute(Operation operation, SplittableRandom random) {
+        switch (operation) {
+            case FIND_BY_ID:
+                bookDAO.findById(randomId(random));
+                return operation;
+            case FIND_BY_ISBN:
+                bookDAO.findByIsbn(LibraryDatasetGenerator.isbn(LibraryDatasetGenerator.skewed(random, bookCount)));
+                return operation;
+            case FIND_BY_AUTHOR:
+                bookDAO.findByAuthor(LibraryDatasetGenerator.authorName(
+                        LibraryDatasetGenerator.skewed(random, LibraryDatasetGenerator.authorCount(bookCount))));
+                return operation;
+            case FIND_BY_TITLE:
+                bookDAO.findByTitle(LibraryDatasetGenerator.TITLE_WORDS[random.nextInt(LibraryDatasetGenerator.TITLE_WORDS.length)]
+                        + " e o " + LibraryDatasetGenerator.TITLE_WORDS[random.nextInt(LibraryDatasetGenerator.TITLE_WORDS.length)]);
+                return operation;
+            case UPDATE:
+                long id = randomId(random);
+                UnitOfWork.inTransaction(() -> {
+                    bookDAO.findById(id).ifPresent(book -> book.setSynopsis("Revisado em " + System.nanoTime()));
+                    return null;
+                });
+                return operation;
+            case DELETE:
+                Long target = inserted.pollFirst();
+                if (target != null) {
+                    bookDAO.deleteById(target);
+                    return operation;
+                }
+                insert(random);
+                return Operation.INSERT;
+            default:
+                insert(random);
+                return Operation.INSERT;
+        }
+    }
+
+    private void insert(SplittableRandom random) {
+        long n = insertSequence.incrementAndGet();
+        Book book = bookDAO.save(new Book("Carga " + n, LibraryDatasetGenerator.authorName(random.nextInt(100)),
+                "Inserido pelo teste de carga", "LT-" + options.seed() + "-" + n, LocalDate.of(2024, 1, 1),
+                categories.get(random.nextInt(categories.size()))));
+        inserted.addLast(book.getId());
+    }
+
+    private long randomId(SplittableRandom random) {
+        return minId + LibraryDatasetGenerator.skewed(random, idRange);
+    }
+
+    private void loadDatasetShape() {
+        EntityManager em = JPAUtils.getEntityManager();
+        try {
+            Object[] shape = em.createQuery("SELECT MIN(b.id), MAX(b.id), COUNT(b) FROM Book b", Object[].class)
+                    .getSingleResult();
+            bookCount = (Long) shape[2];
+            if (bookCount == 0) {
+                throw new IllegalStateException("Acervo vazio: execute o modo generate antes do run");
+            }
+            minId = (Long) shape[0];
+            idRange = (Long) shape[1] - minId + 1;
+            categories = em.createQuery("SELECT c FROM Category c", Category.class).getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    // Tabela de 100 entradas proporcional aos pesos: sortear uma operação é um acesso a array
+    private static Operation[] weightTable(Map<Operation, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        List<Operation> entries = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            long slots = Math.round(weight * 100.0 / total);
+            for (int i = 0; i < Math.max(slots, weight > 0 ? 1 : 0); i++) {
+                entries.add(operation);
+            }
+        });
+        return entries.toArray(new Operation[0]);
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.fuctura.loadtest;
+
+// Operações da carga mista e seus pesos padrão
+public enum Operation {
+    FIND_BY_ID("findById", 45),
+    FIND_BY_ISBN("findByIsbn", 10),
+    FIND_BY_AUTHOR("findByAuthor", 15),
+    FIND_BY_TITLE("findByTitle", 10),
+    UPDATE("update", 10),
+    INSERT("insert", 5),
+    DELETE("delete", 5);
+
+    private final String label;
+    private final int defaultWeight;
+
+    Operation(String label, int defaultWeight) {
+        this.label = label;
+        this.defaultWeight = defaultWeight;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    static Operation fromName(String name) {
+        for (Operation operation : values()) {
+            if (operation.label.equalsIgnoreCase(name)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Operação desconhecida em --mix: " + name);
+    }
+}
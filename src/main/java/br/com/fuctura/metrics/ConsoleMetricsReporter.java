@@ -0,0 +1,37 @@
+package br.com.fuctura.metrics;
+
+import org.hibernate.stat.Statistics;
+
+import java.io.PrintStream;
+import java.util.List;
+
+// Reporter simples: uma linha por operação + os principais contadores do Hibernate
+public class ConsoleMetricsReporter implements MetricsReporter {
+
+    private final PrintStream out;
+
+    public ConsoleMetricsReporter() {
+        this(System.out);
+    }
+
+    public ConsoleMetricsReporter(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void report(List<OperationSnapshot> operations, Statistics statistics) {
+        out.printf("%-28s %10s %7s %9s %9s %9s %9s%n", "operação", "chamadas", "erros", "sql/op", "p50(ms)", "p99(ms)", "p999(ms)");
+        for (OperationSnapshot operation : operations) {
+            out.printf("%-28s %,10d %,7d %9.2f %9.3f %9.3f %9.3f%n", operation.operation(), operation.count(),
+                    operation.errors(), operation.statementsPerCall(), operation.p50Millis(), operation.p99Millis(),
+                    operation.p999Millis());
+        }
+        if (statistics != null) {
+            out.printf("Hibernate{loads=%d, fetches=%d, L2 hits/misses=%d/%d, query cache hits/misses=%d/%d, flushes=%d, connections=%d, statements=%d}%n",
+                    statistics.getEntityLoadCount(), statistics.getEntityFetchCount(),
+                    statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount(),
+                    statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                    statistics.getFlushCount(), statistics.getConnectCount(), statistics.getPrepareStatementCount());
+        }
+    }
+}
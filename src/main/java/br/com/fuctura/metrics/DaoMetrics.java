@@ -0,0 +1,148 @@
+package br.com.fuctura.metrics;
+
+import org.hibernate.stat.Statistics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Registro das métricas por operação de DAO. Cada operação vira um MXBean
+// (br.com.fuctura:type=DaoOperation,name=Book.findByAuthor) e é enviada aos reporters registrados.
+// Custo por chamada: dois nanoTime, duas leituras do contador de SQL da thread e um registro no histograma.
+public final class DaoMetrics {
+
+    private static final String DOMAIN = "br.com.fuctura";
+
+    private static final Map<String, OperationMetrics> OPERATIONS = new ConcurrentHashMap<>();
+    private static final List<MetricsReporter> REPORTERS = new CopyOnWriteArrayList<>();
+    private static final HibernateStatisticsView HIBERNATE_STATISTICS = new HibernateStatisticsView();
+
+    private static volatile boolean enabled = true;
+    private static volatile Supplier<Statistics> statisticsSource = () -> null;
+    private static ScheduledExecutorService scheduler;
+
+    private DaoMetrics() {
+    }
+
+    public static <R> R measure(OperationMetrics operation, Supplier<R> work) {
+        NPlusOneDetector.enter(operation.getName());
+        boolean failed = true;
+        try {
+            R result = enabled ? timed(operation, work) : work.get();
+            failed = false;
+            return result;
+        } finally {
+            NPlusOneDetector.exit(failed);
+        }
+    }
+
+    private static <R> R timed(OperationMetrics operation, Supplier<R> work) {
+        long statementsBefore = StatementCounter.current();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            R result = work.get();
+            failed = false;
+            return result;
+        } finally {
+            operation.record(System.nanoTime() - start, StatementCounter.current() - statementsBefore, failed);
+        }
+    }
+
+    public static OperationMetrics operation(String name) {
+        return OPERATIONS.computeIfAbsent(name, key -> {
+            OperationMetrics metrics = new OperationMetrics(key);
+            register("type=DaoOperation,name=" + key, metrics);
+            return metrics;
+        });
+    }
+
+    public static OperationSnapshot snapshot(String name) {
+        OperationMetrics metrics = OPERATIONS.get(name);
+        return metrics != null ? metrics.snapshot() : new OperationSnapshot(name, 0, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    public static List<OperationSnapshot> snapshots() {
+        List<OperationSnapshot> snapshots = new ArrayList<>(OPERATIONS.size());
+        OPERATIONS.values().forEach(metrics -> snapshots.add(metrics.snapshot()));
+        snapshots.sort(Comparator.comparing(OperationSnapshot::operation));
+        return snapshots;
+    }
+
+    public static void reset() {
+        OPERATIONS.values().forEach(OperationMetrics::reset);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    // Chamado pelo JPAUtils ao criar a EntityManagerFactory
+    public static void bindStatistics(Statistics statistics) {
+        statisticsSource = () -> statistics;
+        HIBERNATE_STATISTICS.bind(statistics);
+        register("type=HibernateStatistics", HIBERNATE_STATISTICS);
+    }
+
+    public static void addReporter(MetricsReporter reporter) {
+        REPORTERS.add(reporter);
+    }
+
+    public static void removeReporter(MetricsReporter reporter) {
+        REPORTERS.remove(reporter);
+    }
+
+    public static void report() {
+        List<OperationSnapshot> snapshots = snapshots();
+        Statistics statistics = statisticsSource.get();
+        for (MetricsReporter reporter : REPORTERS) {
+            reporter.report(snapshots, statistics);
+        }
+    }
+
+    // Envia as métricas aos reporters periodicamente (thread daemon)
+    public static synchronized void startReporting(Duration period) {
+        stopReporting();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dao-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(DaoMetrics::report, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized void stopReporting() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private static void register(String keys, Object mbean) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(mbean, new ObjectName(DOMAIN + ":" + keys));
+        } catch (InstanceAlreadyExistsException e) {
+            // Já registrado (ex: EntityManagerFactory recriada); o MXBean existente continua válido
+        } catch (JMException e) {
+            throw new IllegalStateException("Não foi possível registrar o MBean " + keys, e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.fuctura.metrics;
+
+// Visão JMX de uma operação de DAO (br.com.fuctura:type=DaoOperation,name=<Entidade>.<método>)
+public interface DaoOperationMXBean {
+
+    long getCount();
+
+    long getErrors();
+
+    long getStatements();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP99Millis();
+
+    double getP999Millis();
+
+    double getMaxMillis();
+}
@@ -0,0 +1,39 @@
+package br.com.fuctura.metrics;
+
+// Contadores do Hibernate Statistics via JMX (br.com.fuctura:type=HibernateStatistics)
+public interface HibernateStatisticsMXBean {
+
+    long getEntityLoadCount();
+
+    long getEntityFetchCount();
+
+    long getEntityInsertCount();
+
+    long getEntityUpdateCount();
+
+    long getEntityDeleteCount();
+
+    long getQueryExecutionCount();
+
+    long getSecondLevelCacheHitCount();
+
+    long getSecondLevelCacheMissCount();
+
+    long getQueryCacheHitCount();
+
+    long getQueryCacheMissCount();
+
+    long getNaturalIdCacheHitCount();
+
+    long getFlushCount();
+
+    long getConnectCount();
+
+    long getPrepareStatementCount();
+
+    long getSessionOpenCount();
+
+    long getTransactionCount();
+
+    void clear();
+}
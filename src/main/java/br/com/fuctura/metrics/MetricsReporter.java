@@ -0,0 +1,12 @@
+package br.com.fuctura.metrics;
+
+import org.hibernate.stat.Statistics;
+
+import java.util.List;
+
+// Destino das métricas (console, log, Prometheus...): registrado com DaoMetrics.addReporter
+@FunctionalInterface
+public interface MetricsReporter {
+
+    void report(List<OperationSnapshot> operations, Statistics statistics);
+}
@@ -0,0 +1,164 @@
+package br.com.fuctura.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+// Detecta o padrão N+1: dentro de uma operação de DAO (ou de uma UnitOfWork inteira) o mesmo SELECT,
+// variando só os parâmetros, executado nplusone.threshold vezes ou mais.
+// Modos (nplusone.mode no db.properties): off, log (padrão) ou strict (lança NPlusOneQueryException).
+public final class NPlusOneDetector {
+
+    public enum Mode { OFF, LOG, STRICT }
+
+    public record Violation(String scope, String shape, int executions, int statements) {
+        @Override
+        public String toString() {
+            return String.format("N+1 em %s: %d execuções de [%s] (%d comandos SQL no total)", scope, executions, shape, statements);
+        }
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(NPlusOneDetector.class.getName());
+    private static final int DEFAULT_THRESHOLD = 3;
+    private static final int RECENT_VIOLATIONS = 20;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("in\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // Buscar o próximo valor da sequence também é um SELECT, mas repeti-lo é esperado em inserts em lote
+    private static final Pattern SEQUENCE_CALL = Pattern.compile("next value for|nextval\\(");
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    private static final LongAdder VIOLATIONS = new LongAdder();
+    private static final List<Violation> RECENT = new ArrayList<>();
+
+    private static volatile Mode mode = Mode.LOG;
+    private static volatile int threshold = DEFAULT_THRESHOLD;
+
+    private NPlusOneDetector() {
+    }
+
+    private static final class Scope {
+        final String name;
+        final Map<String, Integer> shapes = new HashMap<>();
+        int depth = 1;
+        int statements;
+
+        Scope(String name) {
+            this.name = name;
+        }
+    }
+
+    public static Mode getMode() {
+        return mode;
+    }
+
+    public static void setMode(Mode value) {
+        mode = value;
+    }
+
+    public static int getThreshold() {
+        return threshold;
+    }
+
+    public static void setThreshold(int value) {
+        if (value < 2) {
+            throw new IllegalArgumentException("nplusone.threshold deve ser pelo menos 2");
+        }
+        threshold = value;
+    }
+
+    public static long violationCount() {
+        return VIOLATIONS.sum();
+    }
+
+    public static List<Violation> recentViolations() {
+        synchronized (RECENT) {
+            return List.copyOf(RECENT);
+        }
+    }
+
+    // Escopos aninhados (DAO dentro de UnitOfWork) acumulam no escopo mais externo
+    static void enter(String name) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.depth++;
+        } else {
+            CURRENT.set(new Scope(name));
+        }
+    }
+
+    // failed=true: a operação já terminou com erro, apenas descarta o escopo
+    static void exit(boolean failed) {
+        Scope scope = CURRENT.get();
+        if (scope == null || --scope.depth > 0) {
+            return;
+        }
+        CURRENT.remove();
+        if (failed || mode == Mode.OFF) {
+            return;
+        }
+        Violation violation = worst(scope);
+        if (violation == null) {
+            return;
+        }
+        VIOLATIONS.increment();
+        synchronized (RECENT) {
+            if (RECENT.size() == RECENT_VIOLATIONS) {
+                RECENT.remove(0);
+            }
+            RECENT.add(violation);
+        }
+        if (mode == Mode.STRICT) {
+            throw new NPlusOneQueryException(violation.toString());
+        }
+        LOGGER.warning(violation.toString());
+    }
+
+    public static void beginUnitOfWork() {
+        enter("UnitOfWork");
+    }
+
+    public static void endUnitOfWork(boolean failed) {
+        exit(failed);
+    }
+
+    static void onStatement(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return;
+        }
+        scope.statements++;
+        String shape = shape(sql);
+        if (shape.startsWith("select") && !SEQUENCE_CALL.matcher(shape).find()) {
+            scope.shapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    // Forma do comando: literais e listas IN viram ?, espaços normalizados
+    static String shape(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return IN_LIST.matcher(shape).replaceAll("in (?)");
+    }
+
+    private static Violation worst(Scope scope) {
+        Map.Entry<String, Integer> worst = null;
+        for (Map.Entry<String, Integer> entry : scope.shapes.entrySet()) {
+            if (entry.getValue() >= threshold && (worst == null || entry.getValue() > worst.getValue())) {
+                worst = entry;
+            }
+        }
+        return worst == null ? null : new Violation(scope.name, worst.getKey(), worst.getValue(), scope.statements);
+    }
+}
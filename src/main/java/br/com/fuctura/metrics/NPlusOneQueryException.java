@@ -0,0 +1,13 @@
+package br.com.fuctura.metrics;
+
+import br.com.fuctura.util.DbException;
+
+// Lançada no modo strict quando uma operação repete o mesmo SELECT variando apenas os parâmetros
+public class NPlusOneQueryException extends DbException {
+
+    private static final long serialVersionUID = 1L;
+
+    public NPlusOneQueryException(String message) {
+        super(message);
+    }
+}
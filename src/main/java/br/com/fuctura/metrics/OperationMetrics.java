@@ -0,0 +1,90 @@
+package br.com.fuctura.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histograma de latência (µs, 2 dígitos significativos), erros e comandos SQL de uma operação
+public class OperationMetrics implements DaoOperationMXBean {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 2);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+
+    OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void record(long nanos, long statementCount, boolean failed) {
+        latencies.recordValue(Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        statements.add(statementCount);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    void reset() {
+        latencies.reset();
+        errors.reset();
+        statements.reset();
+    }
+
+    public OperationSnapshot snapshot() {
+        Histogram copy = latencies.copy();
+        return new OperationSnapshot(name, copy.getTotalCount(), errors.sum(), statements.sum(),
+                copy.getMean() / 1000.0,
+                copy.getValueAtPercentile(50) / 1000.0,
+                copy.getValueAtPercentile(99) / 1000.0,
+                copy.getValueAtPercentile(99.9) / 1000.0,
+                copy.getMaxValue() / 1000.0);
+    }
+
+    @Override
+    public long getCount() {
+        return latencies.getTotalCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latencies.getMean() / 1000.0;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return latencies.getValueAtPercentile(50) / 1000.0;
+    }
+
+    @Override
+    public double getP99Millis() {
+        return latencies.getValueAtPercentile(99) / 1000.0;
+    }
+
+    @Override
+    public double getP999Millis() {
+        return latencies.getValueAtPercentile(99.9) / 1000.0;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latencies.getMaxValue() / 1000.0;
+    }
+}
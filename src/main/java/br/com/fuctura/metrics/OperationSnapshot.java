@@ -0,0 +1,24 @@
+package br.com.fuctura.metrics;
+
+// Fotografia das métricas de uma operação de DAO
+public record OperationSnapshot(
+        String operation,
+        long count,
+        long errors,
+        long statements,
+        double meanMillis,
+        double p50Millis,
+        double p99Millis,
+        double p999Millis,
+        double maxMillis) {
+
+    public double statementsPerCall() {
+        return count == 0 ? 0.0 : statements / (double) count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{count=%d, errors=%d, statements/call=%.2f, mean=%.3fms, p50=%.3fms, p99=%.3fms, p999=%.3fms, max=%.3fms}",
+                operation, count, errors, statementsPerCall(), meanMillis, p50Millis, p99Millis, p999Millis, maxMillis);
+    }
+}
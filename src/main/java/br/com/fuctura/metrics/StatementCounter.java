@@ -0,0 +1,48 @@
+package br.com.fuctura.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Conta, por thread, os comandos SQL que o Hibernate prepara (registrado pelo JPAUtils)
+// e repassa cada comando ao NPlusOneDetector. O SQL não é alterado.
+public class StatementCounter implements StatementInspector {
+
+    public static final StatementCounter INSTANCE = new StatementCounter();
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    private StatementCounter() {
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        List<String> captured = CAPTURED.get();
+        if (captured != null) {
+            captured.add(sql);
+        }
+        NPlusOneDetector.onStatement(sql);
+        return sql;
+    }
+
+    // Total acumulado na thread corrente; a diferença entre duas leituras é o custo de uma operação
+    public static long current() {
+        return COUNT.get()[0];
+    }
+
+    // SQL preparado pela thread corrente durante work, na ordem (usado pelo IndexAdvisor)
+    public static List<String> capture(Runnable work) {
+        List<String> previous = CAPTURED.get();
+        List<String> captured = new ArrayList<>();
+        CAPTURED.set(captured);
+        try {
+            work.run();
+            return captured;
+        } finally {
+            CAPTURED.set(previous);
+        }
+    }
+}
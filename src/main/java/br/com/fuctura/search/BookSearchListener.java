@@ -0,0 +1,70 @@
+package br.com.fuctura.search;
+
+import br.com.fuctura.entity.Book;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+// Mantém o índice em memória atualizado com as escritas feitas via JPA.
+// Eventos pós-commit do Hibernate: uma transação desfeita não deixa termos no índice.
+public class BookSearchListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private static final BookSearchListener INSTANCE = new BookSearchListener();
+
+    // Chamado pelo JPAUtils ao criar a EntityManagerFactory
+    public static void register(SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, INSTANCE);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, INSTANCE);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, INSTANCE);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        indexBook(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        indexBook(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Book book) {
+            InMemoryBookIndex.getInstance().remove(book.getId());
+        }
+    }
+
+    // Nada foi aplicado antes do commit: não há o que desfazer
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Book.class.equals(persister.getMappedClass());
+    }
+
+    private static void indexBook(Object entity) {
+        if (entity instanceof Book book) {
+            InMemoryBookIndex.getInstance().index(book.getId(), book.getTitle(), book.getAuthor(), book.getSynopsis());
+        }
+    }
+}
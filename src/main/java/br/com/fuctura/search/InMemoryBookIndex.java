@@ -0,0 +1,215 @@
+package br.com.fuctura.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Índice invertido em memória para busca textual quando o banco não tem full-text (ex: H2 nos testes).
+// Pesos equivalentes ao setweight do PostgreSQL: título (A) > autor (B) > sinopse (C).
+// Reconstrução: beginRebuild antes de ler o snapshot do banco e rebuild com as linhas lidas. Escritas confirmadas
+// nesse intervalo ficam guardadas e são reaplicadas sobre o snapshot (index/remove são idempotentes), então um
+// commit que o snapshot não viu não se perde.
+public final class InMemoryBookIndex {
+
+    private static final InMemoryBookIndex INSTANCE = new InMemoryBookIndex();
+
+    private static final float TITLE_WEIGHT = 1.0f;
+    private static final float AUTHOR_WEIGHT = 0.4f;
+    private static final float SYNOPSIS_WEIGHT = 0.2f;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, Map<Long, Float>> postings = new HashMap<>();
+    private Map<Long, Set<String>> documentTerms = new HashMap<>();
+    private volatile boolean built;
+    // Escritas recebidas durante a reconstrução (null fora dela)
+    private List<Change> pending;
+
+    private InMemoryBookIndex() {
+    }
+
+    public static InMemoryBookIndex getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isBuilt() {
+        return built;
+    }
+
+    // Chamado antes de ler o snapshot: a partir daqui as escritas são guardadas até o rebuild
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Reconstrói o índice a partir de linhas {id, title, author, synopsis}, montado fora do lock.
+    // Se o índice foi invalidado durante a leitura (ex: comando em massa), o snapshot é usado mas o índice continua
+    // desatualizado e a próxima busca o reconstrói de novo.
+    public void rebuild(Iterable<Object[]> rows) {
+        Map<String, Map<Long, Float>> newPostings = new HashMap<>();
+        Map<Long, Set<String>> newDocumentTerms = new HashMap<>();
+        for (Object[] row : rows) {
+            add(newPostings, newDocumentTerms, (Long) row[0], (String) row[1], (String) row[2], (String) row[3]);
+        }
+        lock.writeLock().lock();
+        try {
+            postings = newPostings;
+            documentTerms = newDocumentTerms;
+            if (pending != null) {
+                pending.forEach(this::apply);
+                pending = null;
+                built = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Marca o índice como desatualizado; a próxima busca o reconstrói (ex: após DELETE/UPDATE em massa)
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            built = false;
+            pending = null;
+            postings = new HashMap<>();
+            documentTerms = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Long id, String title, String author, String synopsis) {
+        change(new Change(id, title, author, synopsis, false));
+    }
+
+    public void remove(Long id) {
+        change(new Change(id, null, null, null, true));
+    }
+
+    // Ids que contêm todos os termos da consulta, do mais relevante para o menos relevante
+    public List<Long> search(String query, int offset, int limit) {
+        Set<String> terms = new HashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int documents = documentTerms.size();
+            Map<Long, Float> scores = null;
+            for (String term : terms) {
+                Map<Long, Float> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    return List.of();
+                }
+                float idf = (float) Math.log(1.0 + documents / (double) termPostings.size());
+                if (scores == null) {
+                    scores = new HashMap<>();
+                    for (Map.Entry<Long, Float> posting : termPostings.entrySet()) {
+                        scores.put(posting.getKey(), posting.getValue() * idf);
+                    }
+                } else {
+                    Map<Long, Float> matches = new HashMap<>();
+                    for (Map.Entry<Long, Float> score : scores.entrySet()) {
+                        Float weight = termPostings.get(score.getKey());
+                        if (weight != null) {
+                            matches.put(score.getKey(), score.getValue() + weight * idf);
+                        }
+                    }
+                    scores = matches;
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Float>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .skip(offset)
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void change(Change change) {
+        if (change.id() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (built) {
+                apply(change);
+            } else if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Change change) {
+        removeDocument(change.id());
+        if (!change.removed()) {
+            add(postings, documentTerms, change.id(), change.title(), change.author(), change.synopsis());
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static void add(Map<String, Map<Long, Float>> postings, Map<Long, Set<String>> documentTerms,
+                            Long id, String title, String author, String synopsis) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, title, TITLE_WEIGHT);
+        addField(weights, author, AUTHOR_WEIGHT);
+        addField(weights, synopsis, SYNOPSIS_WEIGHT);
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, weight));
+        documentTerms.put(id, weights.keySet());
+    }
+
+    private void removeDocument(Long id) {
+        Set<String> terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> termPostings = postings.get(term);
+            termPostings.remove(id);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float weight) {
+        for (String token : tokenize(text)) {
+            weights.merge(token, weight, Float::sum);
+        }
+    }
+
+    private record Change(Long id, String title, String author, String synopsis, boolean removed) {
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.fuctura.search;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+// Busca textual no PostgreSQL: coluna tsvector gerada (mantida pelo próprio banco) + índice GIN
+public final class PostgresFullText {
+
+    public static final String SEARCH_SQL =
+            "SELECT b.* FROM book b, websearch_to_tsquery('simple', :query) q "
+                    + "WHERE b.search_vector @@ q "
+                    + "ORDER BY ts_rank_cd(b.search_vector, q) DESC, b.id "
+                    + "LIMIT :limit OFFSET :offset";
+
+    private static final String[] SCHEMA_DDL = {
+            "ALTER TABLE book ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS ("
+                    + "setweight(to_tsvector('simple', coalesce(title, '')), 'A') || "
+                    + "setweight(to_tsvector('simple', coalesce(author, '')), 'B') || "
+                    + "setweight(to_tsvector('simple', coalesce(synopsis, '')), 'C')) STORED",
+            "CREATE INDEX IF NOT EXISTS idx_book_search_vector ON book USING GIN (search_vector)"
+    };
+
+    private static final String SCHEMA_READY_SQL =
+            "SELECT (SELECT count(*) FROM information_schema.columns "
+                    + "WHERE table_schema = current_schema() AND table_name = 'book' AND column_name = 'search_vector') "
+                    + "+ (SELECT count(*) FROM pg_indexes "
+                    + "WHERE schemaname = current_schema() AND indexname = 'idx_book_search_vector')";
+
+    private PostgresFullText() {
+    }
+
+    // Chamado pelo JPAUtils na inicialização, logo após o hbm2ddl. O ALTER TABLE com coluna STORED reescreve
+    // a tabela sob ACCESS EXCLUSIVE, então não pode ficar no caminho de uma busca. Com a coluna e o índice
+    // já criados nenhum DDL é executado.
+    public static void ensureSchema(EntityManagerFactory emf) {
+        EntityManager entityManager = emf.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            Number ready = (Number) entityManager.createNativeQuery(SCHEMA_READY_SQL).getSingleResult();
+            if (ready.intValue() < SCHEMA_DDL.length) {
+                for (String ddl : SCHEMA_DDL) {
+                    entityManager.createNativeQuery(ddl).executeUpdate();
+                }
+            }
+            entityManager.getTransaction().commit();
+        } catch (RuntimeException e) {
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+            throw e;
+        } finally {
+            entityManager.close();
+        }
+    }
+}
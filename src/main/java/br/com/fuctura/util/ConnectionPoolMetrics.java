@@ -0,0 +1,51 @@
+package br.com.fuctura.util;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Recebe os callbacks do HikariCP e acumula o tempo que as threads esperam por uma conexão
+public class ConnectionPoolMetrics implements MetricsTrackerFactory, IMetricsTracker {
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0L);
+    private final LongAdder timeouts = new LongAdder();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return this;
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquisitions.increment();
+        totalWaitNanos.add(elapsedAcquiredNanos);
+        maxWaitNanos.accumulate(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+    }
+
+    // Os gauges vêm do MXBean do pool (PoolStats do Hikari é atualizado apenas a cada segundo)
+    public ConnectionPoolStats snapshot(HikariPoolMXBean pool, int maxPoolSize) {
+        long count = acquisitions.sum();
+        double averageWaitMillis = count == 0 ? 0.0 : totalWaitNanos.sum() / (double) count / 1_000_000.0;
+        return new ConnectionPoolStats(
+                pool != null ? pool.getActiveConnections() : 0,
+                pool != null ? pool.getIdleConnections() : 0,
+                pool != null ? pool.getTotalConnections() : 0,
+                pool != null ? pool.getThreadsAwaitingConnection() : 0,
+                maxPoolSize,
+                count,
+                timeouts.sum(),
+                averageWaitMillis,
+                maxWaitNanos.get() / 1_000_000.0);
+    }
+}
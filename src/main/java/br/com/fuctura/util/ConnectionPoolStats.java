@@ -0,0 +1,21 @@
+package br.com.fuctura.util;
+
+// Fotografia do pool de conexões: gauges do HikariCP + tempos de espera por conexão
+public record ConnectionPoolStats(
+        int activeConnections,
+        int idleConnections,
+        int totalConnections,
+        int threadsAwaitingConnection,
+        int maxPoolSize,
+        long acquisitions,
+        long timeouts,
+        double averageWaitMillis,
+        double maxWaitMillis) {
+
+    @Override
+    public String toString() {
+        return String.format("Pool{active=%d, idle=%d, total=%d/%d, waiting=%d, acquisitions=%d, timeouts=%d, avgWait=%.3fms, maxWait=%.3fms}",
+                activeConnections, idleConnections, totalConnections, maxPoolSize, threadsAwaitingConnection,
+                acquisitions, timeouts, averageWaitMillis, maxWaitMillis);
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.fuctura.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Bloco de ids compartilhado entre as threads: cada chamada à sequência devolve o início de um bloco
+// [início, início + blockSize) e os ids saem dele por getAndIncrement, sem lock. Threads de vida curta não
+// deixam lacunas: o que sobra do bloco fica para a próxima thread.
+// A troca do bloco esgotado também é sem lock (quem busca na sequência pode estar esperando conexão do pool).
+// Se duas threads buscam ao mesmo tempo, o bloco de quem perdeu o compareAndSet fica guardado, intacto, para a
+// próxima troca.
+public final class IdBlockPrefetcher {
+
+    private record Block(AtomicLong next, long end) {
+
+        Block(long start, int size) {
+            this(new AtomicLong(start), start + size);
+        }
+    }
+
+    private final int blockSize;
+    private final AtomicReference<Block> current = new AtomicReference<>(new Block(0, 0));
+    private final Queue<Block> spare = new ConcurrentLinkedQueue<>();
+    private final LongAdder sequenceCalls = new LongAdder();
+
+    public IdBlockPrefetcher(int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize deve ser maior que zero");
+        }
+        this.blockSize = blockSize;
+    }
+
+    // nextBlockStart só é chamado quando o bloco atual acaba e não há bloco guardado
+    public long next(LongSupplier nextBlockStart) {
+        while (true) {
+            Block block = current.get();
+            long id = block.next().getAndIncrement();
+            if (id < block.end()) {
+                return id;
+            }
+            Block fresh = spare.poll();
+            if (fresh == null) {
+                fresh = new Block(nextBlockStart.getAsLong(), blockSize);
+                sequenceCalls.increment();
+            }
+            if (!current.compareAndSet(block, fresh)) {
+                spare.offer(fresh);
+            }
+        }
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public long getSequenceCalls() {
+        return sequenceCalls.sum();
+    }
+}
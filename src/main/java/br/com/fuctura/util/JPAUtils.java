@@ -1,56 +1,131 @@
 package br.com.fuctura.util;
 
+import br.com.fuctura.metrics.DaoMetrics;
+import br.com.fuctura.metrics.NPlusOneDetector;
+import br.com.fuctura.metrics.StatementCounter;
+import br.com.fuctura.search.BookSearchListener;
+import br.com.fuctura.search.PostgresFullText;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
+import org.hibernate.SessionFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 
 public class JPAUtils {
-    private static EntityManagerFactory emf;
+    private static final String DEFAULT_PERSISTENCE_UNIT = "FUCTURA-PU-PROD";
+    private static final String CONFIG_PROPERTY = "db.config";
+    private static final String DEFAULT_CONFIG = "db.properties";
+    private static final int DEFAULT_BATCH_SIZE = 50;
+    private static final int DEFAULT_COMMIT_SIZE = 1000;
+    private static final int DEFAULT_POOL_SIZE = 20;
+    private static final String POOL_NAME = "fuctura-pool";
+    private static final String REPLICA_POOL_NAME = "fuctura-replica-";
+    private static final long DEFAULT_READ_YOUR_WRITES_MS = 1_000;
+
+    // Inicialização preguiçosa com double-checked locking: emf é publicado por último (volatile),
+    // depois de dbProps, pools e roteador, e só uma thread cria a EntityManagerFactory e os pools
+    private static volatile EntityManagerFactory emf;
+    private static volatile Properties dbProps;
+    private static volatile HikariDataSource dataSource;
+    private static volatile ConnectionPoolMetrics poolMetrics;
+    private static volatile ReplicaRouter replicaRouter;
 
     public static EntityManagerFactory getEntityManagerFactory() {
-        if (emf == null) {
-            try {
-                // Carregar as propriedades do arquivo db.properties
-                Properties dbProps = loadProperties();
-
-                // Criar um mapa para sobrescrever as propriedades no persistence.xml
-                Map<String, Object> configOverrides = new HashMap<>();
-                configOverrides.put("jakarta.persistence.jdbc.url", dbProps.getProperty("dburl"));
-                configOverrides.put("jakarta.persistence.jdbc.user", dbProps.getProperty("user"));
-                configOverrides.put("jakarta.persistence.jdbc.password", dbProps.getProperty("password"));
-
-                // Adicionar propriedades SSL se necessário
-                String useSSL = dbProps.getProperty("useSSL");
-                if (useSSL != null && useSSL.equals("true")) {
-                    configOverrides.put("jakarta.persistence.jdbc.ssl", "true");
-                    configOverrides.put("jakarta.persistence.jdbc.sslfactory", "org.postgresql.ssl.DefaultJavaSSLFactory");
-                }
+        EntityManagerFactory current = emf;
+        if (current != null) {
+            return current;
+        }
+        synchronized (JPAUtils.class) {
+            if (emf == null) {
+                emf = createEntityManagerFactory();
+            }
+            return emf;
+        }
+    }
+
+    private static EntityManagerFactory createEntityManagerFactory() {
+        EntityManagerFactory factory = null;
+        try {
+            // Carregar as propriedades do arquivo db.properties
+            dbProps = loadProperties();
+
+            // Criar um mapa para sobrescrever as propriedades no persistence.xml
+            Map<String, Object> configOverrides = new HashMap<>();
+
+            // Conexões vêm de um pool HikariCP (o pool embutido do Hibernate não é para produção)
+            if (dbProps.getProperty("dburl") != null) {
+                dataSource = createDataSource(dbProps);
+                replicaRouter = createReplicaRouter(dbProps);
+                configOverrides.put("hibernate.connection.provider_class", new PooledConnectionProvider(dataSource, replicaRouter));
+                configOverrides.put("hibernate.connection.provider_disables_autocommit", "true");
+            }
 
-                // Desabilitar as configurações de cache que estão causando problemas
-                configOverrides.put("hibernate.cache.use_second_level_cache", "false");
-                configOverrides.put("hibernate.cache.use_query_cache", "false");
+            // Cache de segunda camada (Ehcache via JCache, regiões em ehcache.xml); cache.enabled=false desliga
+            configureCache(configOverrides, Boolean.parseBoolean(dbProps.getProperty("cache.enabled", "true").trim()));
 
-                // IMPORTANTE: Configurações para resolver o problema de validação de esquema
-                // Muda para update em vez de validate, para criar as tabelas automaticamente se não existirem
-                configOverrides.put("hibernate.hbm2ddl.auto", "update");
+            // Métricas sempre ligadas (metrics.enabled=false desliga): Statistics do Hibernate
+            // e contagem de SQL por thread para as operações de DAO
+            configOverrides.put("hibernate.generate_statistics", "true");
+            configOverrides.put("hibernate.session.events.log", "false");
+            configOverrides.put("hibernate.session_factory.statement_inspector", StatementCounter.INSTANCE);
+            DaoMetrics.setEnabled(Boolean.parseBoolean(dbProps.getProperty("metrics.enabled", "true").trim()));
+            configureNPlusOneDetector(dbProps);
 
-                // Desabilita a validação de esquema para testes
-                configOverrides.put("jakarta.persistence.schema-generation.database.action", "none");
-                configOverrides.put("hibernate.schema_validation.enabled", "false");
+            // IMPORTANTE: Configurações para resolver o problema de validação de esquema
+            // Muda para update em vez de validate, para criar as tabelas automaticamente se não existirem
+            configOverrides.put("hibernate.hbm2ddl.auto", "update");
 
-                // Usar a unidade de persistência FUCTURA-PU-PROD para o ambiente de produção
-                emf = Persistence.createEntityManagerFactory("FUCTURA-PU-PROD", configOverrides);
-            } catch (Exception e) {
-                throw new DbException("Erro ao inicializar EntityManagerFactory: " + e.getMessage(), e);
+            // Desabilita a validação de esquema para testes
+            configOverrides.put("jakarta.persistence.schema-generation.database.action", "none");
+            configOverrides.put("hibernate.schema_validation.enabled", "false");
+
+            // Sequências pooled-lo (PooledLoSequenceGenerator): id.<entidade>.allocationSize e id.prefetch
+            for (String key : dbProps.stringPropertyNames()) {
+                if (key.startsWith("id.")) {
+                    configOverrides.put(key, dbProps.getProperty(key).trim());
+                }
+            }
+
+            // Qualquer chave hibernate.* ou jakarta.persistence.* do db.properties sobrescreve as anteriores
+            // (ex: hibernate.jdbc.batch_size)
+            for (String key : dbProps.stringPropertyNames()) {
+                if (key.startsWith("hibernate.") || key.startsWith("jakarta.persistence.")) {
+                    configOverrides.put(key, dbProps.getProperty(key).trim());
+                }
+            }
+
+            // Por padrão usa a unidade FUCTURA-PU-PROD; persistence.unit permite apontar para DEV ou TEST
+            String persistenceUnit = dbProps.getProperty("persistence.unit", DEFAULT_PERSISTENCE_UNIT).trim();
+            factory = Persistence.createEntityManagerFactory(persistenceUnit, configOverrides);
+            DaoMetrics.bindStatistics(factory.unwrap(SessionFactory.class).getStatistics());
+
+            // Índice de busca em memória atualizado só após commit; no PostgreSQL, schema da busca textual
+            SessionFactoryImplementor sessionFactory = factory.unwrap(SessionFactoryImplementor.class);
+            BookSearchListener.register(sessionFactory);
+            if (sessionFactory.getJdbcServices().getDialect() instanceof PostgreSQLDialect) {
+                PostgresFullText.ensureSchema(factory);
+            }
+            return factory;
+        } catch (Exception e) {
+            if (factory != null && factory.isOpen()) {
+                factory.close();
             }
+            closeDataSource();
+            throw new DbException("Erro ao inicializar EntityManagerFactory: " + e.getMessage(), e);
         }
-        return emf;
     }
 
     public static EntityManager getEntityManager() {
@@ -63,22 +138,219 @@ public class JPAUtils {
         }
     }
 
-    public static void closeEntityManagerFactory() {
-        if (emf != null && emf.isOpen()) {
-            emf.close();
+    public static synchronized void closeEntityManagerFactory() {
+        EntityManagerFactory current = emf;
+        emf = null;
+        if (current != null && current.isOpen()) {
+            current.close();
+        }
+        closeDataSource();
+    }
+
+    // Cache de resultados por finder: cache.query.<finder> (padrão: ligado quando cache.enabled=true)
+    public static boolean isQueryCacheEnabled(String finder) {
+        getEntityManagerFactory();
+        boolean cacheEnabled = Boolean.parseBoolean(dbProps.getProperty("cache.enabled", "true").trim());
+        return cacheEnabled && Boolean.parseBoolean(dbProps.getProperty("cache.query." + finder, "true").trim());
+    }
+
+    public static boolean isPostgreSQL() {
+        return getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    // Estatísticas do Hibernate (ligadas por padrão; hibernate.generate_statistics=false no db.properties desliga)
+    public static Statistics getStatistics() {
+        return getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public static ConnectionPoolStats getConnectionPoolStats() {
+        getEntityManagerFactory();
+        if (dataSource == null) {
+            throw new DbException("Pool de conexões não configurado: defina dburl no db.properties");
+        }
+        return poolMetrics.snapshot(dataSource.getHikariPoolMXBean(), dataSource.getMaximumPoolSize());
+    }
+
+    // Réplicas de leitura configuradas (replica.<n>.dburl); vazio quando todas as leituras vão ao primário
+    public static List<ReplicaStats> getReplicaStats() {
+        getEntityManagerFactory();
+        return replicaRouter != null ? replicaRouter.stats() : List.of();
+    }
+
+    // As leituras da marcação ReadOnlyConnections corrente vão a uma réplica (e não ao primário por read-your-writes)
+    public static boolean readsFromReplica() {
+        getEntityManagerFactory();
+        return replicaRouter != null && replicaRouter.readsFromReplica();
+    }
+
+    // Leituras que foram ao primário apesar de haver réplicas (read-your-writes ou réplicas indisponíveis)
+    public static long getPrimaryReads() {
+        getEntityManagerFactory();
+        return replicaRouter != null ? replicaRouter.primaryReads() : 0;
+    }
+
+    // Máximo de conexões simultâneas (pool.maximumPoolSize): limite útil para threads que usam o banco
+    public static int getMaximumPoolSize() {
+        getEntityManagerFactory();
+        return dataSource != null ? dataSource.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+    }
+
+    // Tamanho do lote JDBC efetivo da EntityManagerFactory (hibernate.jdbc.batch_size)
+    public static int getBatchSize() {
+        Object value = getEntityManagerFactory().getProperties().get("hibernate.jdbc.batch_size");
+        return value != null ? parsePositiveInt("hibernate.jdbc.batch_size", value.toString()) : DEFAULT_BATCH_SIZE;
+    }
+
+    // Quantidade de linhas por transação nas operações em lote (batch.commit_size)
+    public static int getCommitSize() {
+        getEntityManagerFactory();
+        return intProperty(dbProps, "batch.commit_size", DEFAULT_COMMIT_SIZE);
+    }
+
+    private static void configureCache(Map<String, Object> overrides, boolean enabled) {
+        overrides.put("hibernate.cache.use_second_level_cache", String.valueOf(enabled));
+        overrides.put("hibernate.cache.use_query_cache", String.valueOf(enabled));
+        if (enabled) {
+            overrides.put("jakarta.persistence.sharedCache.mode", "ENABLE_SELECTIVE");
+            overrides.put("hibernate.cache.region.factory_class", "jcache");
+            overrides.put("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider");
+            overrides.put("hibernate.javax.cache.uri", "ehcache.xml");
+            overrides.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+        } else {
+            overrides.put("jakarta.persistence.sharedCache.mode", "NONE");
+        }
+    }
+
+    // nplusone.mode=off|log|strict e nplusone.threshold (execuções do mesmo SELECT numa operação)
+    private static void configureNPlusOneDetector(Properties props) {
+        String mode = props.getProperty("nplusone.mode", "log").trim().toUpperCase(Locale.ROOT);
+        try {
+            NPlusOneDetector.setMode(NPlusOneDetector.Mode.valueOf(mode));
+        } catch (IllegalArgumentException e) {
+            throw new DbException("Valor inválido para nplusone.mode: " + mode, e);
+        }
+        NPlusOneDetector.setThreshold(intProperty(props, "nplusone.threshold", NPlusOneDetector.getThreshold()));
+    }
+
+    private static HikariDataSource createDataSource(Properties props) {
+        HikariConfig config = poolConfig(props, POOL_NAME, props.getProperty("dburl"),
+                props.getProperty("user"), props.getProperty("password"));
+        // Tempo de espera por conexão via ConnectionPoolMetrics (apenas no primário)
+        poolMetrics = new ConnectionPoolMetrics();
+        config.setMetricsTrackerFactory(poolMetrics);
+        return new HikariDataSource(config);
+    }
+
+    // replica.<n>.dburl (n = 1, 2, ...), com replica.<n>.user/password (padrão: os do primário) e os mesmos pool.*;
+    // replica.balancing=round_robin|least_latency e replica.readYourWritesMs
+    private static ReplicaRouter createReplicaRouter(Properties props) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        try {
+            for (int n = 1; props.getProperty("replica." + n + ".dburl") != null; n++) {
+                String prefix = "replica." + n + ".";
+                replicas.add(new HikariDataSource(poolConfig(props, REPLICA_POOL_NAME + n, props.getProperty(prefix + "dburl"),
+                        props.getProperty(prefix + "user", props.getProperty("user")),
+                        props.getProperty(prefix + "password", props.getProperty("password")))));
+            }
+            if (replicas.isEmpty()) {
+                return null;
+            }
+            return new ReplicaRouter(replicas,
+                    ReplicaRouter.Balancing.parse(props.getProperty("replica.balancing", "round_robin")),
+                    longProperty(props, "replica.readYourWritesMs", DEFAULT_READ_YOUR_WRITES_MS));
+        } catch (RuntimeException e) {
+            replicas.forEach(HikariDataSource::close);
+            throw e;
+        }
+    }
+
+    private static HikariConfig poolConfig(Properties props, String poolName, String url, String user, String password) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(url.trim());
+        config.setUsername(trimmed(user));
+        config.setPassword(trimmed(password));
+        config.setAutoCommit(false);
+
+        // Adicionar propriedades SSL se necessário
+        String useSSL = props.getProperty("useSSL");
+        if (useSSL != null && useSSL.trim().equals("true")) {
+            config.addDataSourceProperty("ssl", "true");
+            config.addDataSourceProperty("sslfactory", "org.postgresql.ssl.DefaultJavaSSLFactory");
+        }
+
+        config.setMaximumPoolSize(intProperty(props, "pool.maximumPoolSize", DEFAULT_POOL_SIZE));
+        config.setMinimumIdle(intProperty(props, "pool.minimumIdle", 5));
+        config.setMaxLifetime(longProperty(props, "pool.maxLifetimeMs", 1_800_000L));
+        config.setIdleTimeout(longProperty(props, "pool.idleTimeoutMs", 600_000L));
+        config.setConnectionTimeout(longProperty(props, "pool.connectionTimeoutMs", 30_000L));
+        config.setLeakDetectionThreshold(longProperty(props, "pool.leakDetectionThresholdMs", 0L));
+
+        // Gauges via JMX (com.zaxxer.hikari:type=Pool (<poolName>))
+        config.setRegisterMbeans(true);
+        return config;
+    }
+
+    private static void closeDataSource() {
+        if (replicaRouter != null) {
+            replicaRouter.close();
+            replicaRouter = null;
         }
+        if (dataSource != null) {
+            dataSource.close();
+            dataSource = null;
+        }
+    }
+
+    private static int intProperty(Properties props, String key, int defaultValue) {
+        String value = props.getProperty(key);
+        return value != null ? parsePositiveInt(key, value) : defaultValue;
     }
 
+    private static long longProperty(Properties props, String key, long defaultValue) {
+        String value = props.getProperty(key);
+        try {
+            return value != null ? Long.parseLong(value.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            throw new DbException("Valor inválido para " + key + ": " + value, e);
+        }
+    }
+
+    private static String trimmed(String value) {
+        return value != null ? value.trim() : null;
+    }
+
+    private static int parsePositiveInt(String key, String value) {
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed <= 0) {
+                throw new DbException("Valor inválido para " + key + ": " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new DbException("Valor inválido para " + key + ": " + value, e);
+        }
+    }
+
+    // -Ddb.config=<recurso> troca o arquivo de configuração lido do classpath (padrão: db.properties)
     private static Properties loadProperties() {
-        try (InputStream is = JPAUtils.class.getClassLoader().getResourceAsStream("db.properties")) {
+        String resource = System.getProperty(CONFIG_PROPERTY, DEFAULT_CONFIG);
+        try (InputStream is = JPAUtils.class.getClassLoader().getResourceAsStream(resource)) {
             if (is == null) {
-                throw new DbException("Arquivo db.properties não encontrado");
+                throw new DbException("Arquivo " + resource + " não encontrado");
             }
             Properties props = new Properties();
             props.load(is);
+            // -Did.* e -Dpool.* na linha de comando sobrescrevem o arquivo (benchmarks)
+            for (String key : System.getProperties().stringPropertyNames()) {
+                if (key.startsWith("id.") || key.startsWith("pool.")) {
+                    props.setProperty(key, System.getProperty(key));
+                }
+            }
             return props;
         } catch (IOException e) {
-            throw new DbException("Erro ao carregar db.properties: " + e.getMessage(), e);
+            throw new DbException("Erro ao carregar " + resource + ": " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package br.com.fuctura.util;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Entrega ao Hibernate as conexões do pool HikariCP criado pelo JPAUtils.
+// Com réplicas configuradas, as leituras (ReadOnlyConnections) são roteadas pelo ReplicaRouter.
+class PooledConnectionProvider implements ConnectionProvider {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient HikariDataSource dataSource;
+    private final transient ReplicaRouter replicas;
+
+    PooledConnectionProvider(HikariDataSource dataSource, ReplicaRouter replicas) {
+        this.dataSource = dataSource;
+        this.replicas = replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReadOnlyConnections.isRequested()) {
+            return dataSource.getConnection();
+        }
+        Connection connection = replicas != null ? replicas.getReadConnection(dataSource) : dataSource.getConnection();
+        connection.setReadOnly(true);
+        return connection;
+    }
+
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        if (replicas != null) {
+            replicas.released(connection);
+        }
+        connection.close();
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isInstance(this) || unwrapType.isInstance(dataSource);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> unwrapType) {
+        if (unwrapType.isInstance(this)) {
+            return (T) this;
+        }
+        if (unwrapType.isInstance(dataSource)) {
+            return (T) dataSource;
+        }
+        throw new DbException("Não é possível converter o provedor de conexões para " + unwrapType.getName());
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.fuctura.util;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+// Sequência com otimizador pooled-lo: o valor lido da sequência é o primeiro id de um bloco de allocationSize ids.
+// allocationSize vem de id.<entidade>.allocationSize (padrão 50) e precisa ser igual ao INCREMENT BY da sequência
+// no banco: o Hibernate recusa iniciar se forem diferentes (ALTER SEQUENCE antes de mudar a configuração).
+// Com id.prefetch=true (padrão) os ids saem de um bloco compartilhado e sem lock no IdBlockPrefetcher, em vez de
+// todas as threads disputarem o otimizador do Hibernate, que é synchronized. Com id.prefetch=false e mais threads que conexões
+// o otimizador pode travar: quem está no synchronized espera conexão e quem tem conexão espera o synchronized.
+public class PooledLoSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private IdBlockPrefetcher prefetcher;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) {
+        Map<String, Object> settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+        String entity = params.getProperty(IdentifierGenerator.JPA_ENTITY_NAME).toLowerCase(Locale.ROOT);
+        int allocationSize = allocationSize(settings, "id." + entity + ".allocationSize");
+
+        params.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+        params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+
+        if (Boolean.parseBoolean(String.valueOf(settings.getOrDefault("id.prefetch", "true")).trim())) {
+            prefetcher = new IdBlockPrefetcher(allocationSize);
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (prefetcher == null) {
+            return super.generate(session, object);
+        }
+        // Ids das entidades são Long
+        return prefetcher.next(() -> getDatabaseStructure().buildCallback(session).getNextValue().makeValue().longValue());
+    }
+
+    // null quando id.prefetch=false
+    public IdBlockPrefetcher getPrefetcher() {
+        return prefetcher;
+    }
+
+    private static int allocationSize(Map<String, Object> settings, String key) {
+        Object value = settings.get(key);
+        if (value == null) {
+            return DEFAULT_ALLOCATION_SIZE;
+        }
+        try {
+            int parsed = Integer.parseInt(value.toString().trim());
+            if (parsed <= 0) {
+                throw new DbException("Valor inválido para " + key + ": " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new DbException("Valor inválido para " + key + ": " + value, e);
+        }
+    }
+}
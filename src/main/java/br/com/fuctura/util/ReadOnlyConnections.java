@@ -0,0 +1,63 @@
+package br.com.fuctura.util;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+// Marca a thread corrente para que as conexões obtidas do pool durante o callback sejam read-only.
+// O HikariCP desfaz o setReadOnly quando a conexão volta ao pool.
+// Com réplicas, o destino das leituras (réplica ou primário) é decidido uma vez por marcação: a configuração
+// de cache da sessão e as conexões obtidas depois seguem a mesma decisão, mesmo que a janela de
+// read-your-writes termine no meio.
+public final class ReadOnlyConnections {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private ReadOnlyConnections() {
+    }
+
+    public static <R> R call(Supplier<R> work) {
+        if (isRequested()) {
+            return work.get();
+        }
+        CURRENT.set(new Scope());
+        try {
+            return work.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    public static boolean isRequested() {
+        return CURRENT.get() != null;
+    }
+
+    // Suspende a marcação durante o callback: as conexões vêm do primário, como numa escrita
+    // (ex: leitura que não pode vir de uma réplica atrasada)
+    public static <R> R onPrimary(Supplier<R> work) {
+        Scope scope = CURRENT.get();
+        CURRENT.remove();
+        try {
+            return work.get();
+        } finally {
+            if (scope != null) {
+                CURRENT.set(scope);
+            }
+        }
+    }
+
+    // Fora de uma marcação decide a cada chamada
+    static boolean toReplica(BooleanSupplier decision) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return decision.getAsBoolean();
+        }
+        if (scope.toReplica == null) {
+            scope.toReplica = decision.getAsBoolean();
+        }
+        return scope.toReplica;
+    }
+
+    private static final class Scope {
+        private Boolean toReplica;
+    }
+}
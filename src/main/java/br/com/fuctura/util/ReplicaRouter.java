@@ -0,0 +1,160 @@
+package br.com.fuctura.util;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// Distribui as conexões de leitura (ReadOnlyConnections) entre as réplicas; escritas ficam no primário.
+// Depois que a thread devolve uma conexão de escrita, as leituras dela continuam no primário por
+// readYourWritesMs: a réplica pode ainda não ter recebido o commit (read-your-writes).
+// Se nenhuma réplica entrega conexão, a leitura cai no primário; a réplica que falhou fica fora por FAILURE_PAUSE_MS.
+final class ReplicaRouter implements AutoCloseable {
+
+    enum Balancing {
+        ROUND_ROBIN, LEAST_LATENCY;
+
+        static Balancing parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                throw new DbException("Valor inválido para replica.balancing: " + value, e);
+            }
+        }
+    }
+
+    // No LEAST_LATENCY uma leitura a cada REMEASURE_EVERY vai por round-robin, para re-medir réplicas preteridas
+    private static final int REMEASURE_EVERY = 100;
+    private static final double LATENCY_WEIGHT = 0.2;
+    private static final long FAILURE_PAUSE_MS = 30_000;
+
+    private final List<Replica> replicas;
+    private final Balancing balancing;
+    private final long readYourWritesNanos;
+    private final AtomicLong selections = new AtomicLong();
+    private final LongAdder primaryReads = new LongAdder();
+    // Conexões de leitura emprestadas (réplica null = primário); as demais são de escrita
+    private final Map<Connection, Checkout> checkouts = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> lastWrite = new ThreadLocal<>();
+
+    ReplicaRouter(List<HikariDataSource> dataSources, Balancing balancing, long readYourWritesMs) {
+        this.replicas = dataSources.stream().map(Replica::new).collect(Collectors.toList());
+        this.balancing = balancing;
+        this.readYourWritesNanos = readYourWritesMs * 1_000_000;
+    }
+
+    Connection getReadConnection(HikariDataSource primary) throws SQLException {
+        if (readsFromReplica()) {
+            int first = select();
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((first + i) % replicas.size());
+                if (replica.isPaused()) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replica.connections.increment();
+                    checkouts.put(connection, new Checkout(replica, System.nanoTime()));
+                    return connection;
+                } catch (SQLException e) {
+                    replica.failures.increment();
+                    replica.pausedUntil = System.nanoTime() + FAILURE_PAUSE_MS * 1_000_000;
+                }
+            }
+        }
+        Connection connection = primary.getConnection();
+        primaryReads.increment();
+        checkouts.put(connection, new Checkout(null, System.nanoTime()));
+        return connection;
+    }
+
+    // Leituras da marcação corrente (ReadOnlyConnections) vão às réplicas: fora da janela de read-your-writes
+    boolean readsFromReplica() {
+        return ReadOnlyConnections.toReplica(() -> !recentlyWrote());
+    }
+
+    // Chamado na devolução de qualquer conexão: mede a réplica ou abre a janela de read-your-writes
+    void released(Connection connection) {
+        Checkout checkout = checkouts.remove(connection);
+        if (checkout == null) {
+            lastWrite.set(System.nanoTime());
+        } else if (checkout.replica != null) {
+            checkout.replica.record((System.nanoTime() - checkout.startNanos) / 1e6);
+        }
+    }
+
+    List<ReplicaStats> stats() {
+        return replicas.stream()
+                .map(replica -> new ReplicaStats(replica.dataSource.getPoolName(), replica.connections.sum(),
+                        replica.failures.sum(), replica.latencyMillis))
+                .collect(Collectors.toList());
+    }
+
+    long primaryReads() {
+        return primaryReads.sum();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private boolean recentlyWrote() {
+        Long last = lastWrite.get();
+        if (last == null) {
+            return false;
+        }
+        if (System.nanoTime() - last < readYourWritesNanos) {
+            return true;
+        }
+        lastWrite.remove();
+        return false;
+    }
+
+    private int select() {
+        long selection = selections.getAndIncrement();
+        int roundRobin = (int) (selection % replicas.size());
+        if (balancing == Balancing.ROUND_ROBIN || selection % REMEASURE_EVERY == 0) {
+            return roundRobin;
+        }
+        int best = roundRobin;
+        for (int i = 0; i < replicas.size(); i++) {
+            if (replicas.get(i).latencyMillis < replicas.get(best).latencyMillis) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private record Checkout(Replica replica, long startNanos) {
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private final LongAdder connections = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        // Média móvel exponencial do tempo com a conexão emprestada (ms)
+        private volatile double latencyMillis;
+        private volatile long pausedUntil;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        boolean isPaused() {
+            return pausedUntil != 0 && System.nanoTime() - pausedUntil < 0;
+        }
+
+        synchronized void record(double millis) {
+            latencyMillis = latencyMillis == 0 ? millis : latencyMillis + LATENCY_WEIGHT * (millis - latencyMillis);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.fuctura.util;
+
+// Leituras entregues por uma réplica, falhas ao obter conexão e latência média móvel
+public record ReplicaStats(String name, long connections, long failures, double averageMillis) {
+
+    @Override
+    public String toString() {
+        return String.format("Replica{%s, connections=%d, failures=%d, avg=%.3fms}",
+                name, connections, failures, averageMillis);
+    }
+}
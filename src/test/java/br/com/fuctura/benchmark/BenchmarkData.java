@@ -0,0 +1,57 @@
+package br.com.fuctura.benchmark;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.dao.CategoryDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.JPAUtils;
+import jakarta.persistence.EntityManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Massa de dados dos benchmarks: limpa o banco e grava livros distribuídos entre categorias
+final class BenchmarkData {
+
+    static final int AUTHORS = 50;
+
+    private BenchmarkData() {
+    }
+
+    static List<Category> categories(int count) {
+        List<Category> categories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            categories.add(new Category("Benchmark " + i, "Categoria do benchmark"));
+        }
+        new CategoryDAO().saveAll(categories);
+        return categories;
+    }
+
+    static List<Book> seed(int count, List<Category> categories) {
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            books.add(book("seed-" + i, i, categories.get(i % categories.size())));
+        }
+        new BookDAO().saveAll(books);
+        return books;
+    }
+
+    static Book book(String key, int i, Category category) {
+        return new Book(key + " title " + i, "Author " + (i % AUTHORS), "Synopsis " + i + " " + "lorem ipsum ".repeat(20),
+                key, LocalDate.of(1950 + i % 70, 1, 1), category);
+    }
+
+    static void clear() {
+        EntityManager em = JPAUtils.getEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.createQuery("DELETE FROM Book").executeUpdate();
+            em.createQuery("DELETE FROM Category").executeUpdate();
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+        JPAUtils.getEntityManagerFactory().getCache().evictAll();
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.fuctura.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+
+// Executado pelo profile benchmark (mvn -Pbenchmark test); um run do JMH por quantidade de threads
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String[] datasets = System.getProperty("bench.dataset", "1000").split(",");
+        String[] threads = System.getProperty("bench.threads", "1").split(",");
+        new File("target/jmh").mkdirs();
+
+        for (String count : threads) {
+            int threadCount = Integer.parseInt(count.trim());
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(System.getProperty("bench.include", "br.com.fuctura.benchmark"))
+                    .param("datasetSize", trimAll(datasets))
+                    .threads(threadCount)
+                    .forks(Integer.getInteger("bench.forks", 1))
+                    .warmupIterations(Integer.getInteger("bench.warmup", 3))
+                    .warmupTime(TimeValue.seconds(2))
+                    .measurementIterations(Integer.getInteger("bench.iterations", 5))
+                    .measurementTime(TimeValue.seconds(2))
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("target/jmh/dao-" + threadCount + "-threads.json");
+            new Runner(options.build()).run();
+        }
+    }
+
+    private static String[] trimAll(String[] values) {
+        String[] trimmed = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            trimmed[i] = values[i].trim();
+        }
+        return trimmed;
+    }
+}
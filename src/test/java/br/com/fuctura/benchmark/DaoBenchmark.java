@@ -0,0 +1,109 @@
+package br.com.fuctura.benchmark;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.JPAUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Operações do GenericDAO/BookDAO contra o H2 do FUCTURA-PU-TEST (db.properties de teste)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class DaoBenchmark {
+
+    @Param({"1000"})
+    public int datasetSize;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private BookDAO bookDAO;
+    private Category category;
+    private List<Long> ids;
+    private List<Book> detached;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        bookDAO = new BookDAO();
+        BenchmarkData.clear();
+        category = BenchmarkData.categories(1).get(0);
+        List<Book> books = BenchmarkData.seed(datasetSize, List.of(category));
+
+        ids = new ArrayList<>(datasetSize);
+        books.forEach(book -> ids.add(book.getId()));
+        detached = books;
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        BenchmarkData.clear();
+        JPAUtils.closeEntityManagerFactory();
+    }
+
+    // Um livro novo por invocação para o deleteById (o custo do insert fica fora da medição)
+    @State(Scope.Thread)
+    public static class Deletable {
+        Long id;
+
+        @Setup(Level.Invocation)
+        public void insert(DaoBenchmark state) {
+            id = state.bookDAO.save(state.newBook("delete-" + state.sequence.incrementAndGet(), 0)).getId();
+        }
+    }
+
+    @Benchmark
+    public Book save() {
+        long n = sequence.incrementAndGet();
+        return bookDAO.save(newBook("save-" + n, (int) n));
+    }
+
+    @Benchmark
+    public Optional<Book> findById() {
+        return bookDAO.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Book> findAll() {
+        return bookDAO.findAll();
+    }
+
+    @Benchmark
+    public List<Book> findByAuthor() {
+        return bookDAO.findByAuthor("Author " + ThreadLocalRandom.current().nextInt(BenchmarkData.AUTHORS));
+    }
+
+    @Benchmark
+    public List<Book> findByTitle() {
+        return bookDAO.findByTitle("title " + ThreadLocalRandom.current().nextInt(datasetSize));
+    }
+
+    @Benchmark
+    public Book update() {
+        Book book = detached.get(ThreadLocalRandom.current().nextInt(detached.size()));
+        Book copy = new Book(book.getTitle(), book.getAuthor(), "rev " + sequence.incrementAndGet(),
+                book.getIsbn(), book.getReleaseYear(), category);
+        copy.setId(book.getId());
+        return bookDAO.update(copy);
+    }
+
+    @Benchmark
+    public void deleteById(Deletable deletable, Blackhole blackhole) {
+        bookDAO.deleteById(deletable.id);
+        blackhole.consume(deletable.id);
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private Book newBook(String key, int i) {
+        return BenchmarkData.book(key, i, category);
+    }
+}
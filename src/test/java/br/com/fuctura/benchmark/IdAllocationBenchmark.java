@@ -0,0 +1,67 @@
+package br.com.fuctura.benchmark;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.JPAUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Inserts/s por allocationSize da sequência, com e sem blocos de ids por thread (id.prefetch).
+// Cada combinação recria a EntityManagerFactory: o drop-and-create do H2 recria a sequência com o novo INCREMENT BY.
+// O pool ganha uma conexão por thread: sem prefetch, o otimizador do Hibernate trava com mais threads que conexões.
+//   mvn -Pbenchmark test -Dbench.include=IdAllocationBenchmark -Dbench.threads=1,16
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class IdAllocationBenchmark {
+
+    private static final int BATCH = 50;
+
+    @Param({"1", "10", "50", "500"})
+    public int allocationSize;
+
+    @Param({"false", "true"})
+    public boolean prefetch;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private BookDAO bookDAO;
+    private Category category;
+
+    @Setup(Level.Trial)
+    public void configure(BenchmarkParams params) {
+        JPAUtils.closeEntityManagerFactory();
+        System.setProperty("id.book.allocationSize", String.valueOf(allocationSize));
+        System.setProperty("id.prefetch", String.valueOf(prefetch));
+        System.setProperty("pool.maximumPoolSize", String.valueOf(Math.max(10, params.getThreads())));
+        bookDAO = new BookDAO();
+        BenchmarkData.clear();
+        category = BenchmarkData.categories(1).get(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        BenchmarkData.clear();
+        JPAUtils.closeEntityManagerFactory();
+        System.clearProperty("id.book.allocationSize");
+        System.clearProperty("id.prefetch");
+        System.clearProperty("pool.maximumPoolSize");
+    }
+
+    // Um saveAll de BATCH livros por invocação; o resultado sai em inserts/s
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long insertBatch() {
+        List<Book> books = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            long n = sequence.incrementAndGet();
+            books.add(BenchmarkData.book("id-" + n, (int) n, category));
+        }
+        return bookDAO.saveAll(books);
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.fuctura.benchmark;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.dto.BookSummary;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.util.JPAUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Listagens grandes: entidades gerenciadas (com categoria via fetch plan) vs projeção BookSummary.
+// Com o gc profiler, gc.alloc.rate.norm mostra os bytes alocados por listagem.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ProjectionBenchmark {
+
+    // findByRelease não usa o cache de consultas no db.properties de teste: toda chamada vai ao banco
+    private static final LocalDate RELEASED_AFTER = LocalDate.of(1985, 1, 1);
+
+    @Param({"1000"})
+    public int datasetSize;
+
+    private BookDAO bookDAO;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        bookDAO = new BookDAO();
+        BenchmarkData.clear();
+        BenchmarkData.seed(datasetSize, BenchmarkData.categories(20));
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        BenchmarkData.clear();
+        JPAUtils.closeEntityManagerFactory();
+    }
+
+    @Benchmark
+    public List<Book> findAllEntities() {
+        return bookDAO.findAll(BookDAO.WITH_CATEGORY);
+    }
+
+    @Benchmark
+    public List<BookSummary> findAllSummaries() {
+        return bookDAO.findAllSummaries();
+    }
+
+    @Benchmark
+    public List<Book> findByReleaseEntities() {
+        return bookDAO.findByRelease(RELEASED_AFTER, BookDAO.WITH_CATEGORY);
+    }
+
+    @Benchmark
+    public List<BookSummary> findByReleaseSummaries() {
+        return bookDAO.findSummariesByRelease(RELEASED_AFTER);
+    }
+}
@@ -0,0 +1,156 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.AsyncBookDAO;
+import br.com.fuctura.dao.AsyncCategoryDAO;
+import br.com.fuctura.dao.AsyncDAO;
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.dao.UnitOfWork;
+import br.com.fuctura.dto.BookSummary;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.DbException;
+import br.com.fuctura.util.JPAUtils;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Async DAO facade (CompletableFuture)")
+class AsyncDAOTest {
+
+    private final BookDAO bookDAO = new BookDAO();
+    private AsyncDAO async;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        category = TestData.category("Async");
+        async = new AsyncDAO();
+        EntityManager em = JPAUtils.getEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.createNativeQuery("CREATE ALIAS IF NOT EXISTS TEST_SLEEP FOR \"java.lang.Thread.sleep(long)\"").executeUpdate();
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        async.close();
+        TestData.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Livro + outros livros do autor + categorias devem ser compostos a partir de buscas paralelas")
+    void shouldComposeIndependentLookups() throws Exception {
+        bookDAO.saveAll(TestData.books("async", 100, category));
+        Book book = bookDAO.findByIsbn("async-ISBN-7").orElseThrow();
+        AsyncBookDAO books = new AsyncBookDAO(async);
+        AsyncCategoryDAO categories = new AsyncCategoryDAO(async);
+
+        CompletableFuture<Book> byId = books.findById(book.getId(), BookDAO.WITH_CATEGORY)
+                .thenApply(found -> found.orElseThrow());
+        CompletableFuture<List<BookSummary>> sameAuthor = books.findSummariesByAuthor(book.getAuthor());
+        CompletableFuture<List<Category>> allCategories = categories.findAll();
+
+        String page = byId.thenCombine(sameAuthor, (found, others) -> found.getCategoryName() + ":" + others.size())
+                .thenCombine(allCategories, (text, list) -> text + ":" + list.size())
+                .get();
+
+        assertEquals("Async:2:1", page);
+    }
+
+    @Test
+    @DisplayName("Benchmark: 8 consultas de 100ms em sequência vs em paralelo")
+    void shouldOverlapDatabaseLatency() throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < 8; i++) {
+            sleepInDatabase(100);
+        }
+        double sequentialMillis = (System.nanoTime() - start) / 1e6;
+
+        start = System.nanoTime();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(async.read(() -> sleepInDatabase(100)));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get();
+        double asyncMillis = (System.nanoTime() - start) / 1e6;
+
+        System.out.printf("📊 Sequencial: %.0fms, AsyncDAO: %.0fms%n", sequentialMillis, asyncMillis);
+        assertTrue(asyncMillis < sequentialMillis / 2, "As latências devem se sobrepor");
+    }
+
+    @Test
+    @DisplayName("Tarefas devem usar no máximo pool.maximumPoolSize threads")
+    void shouldBoundThreadsToPoolSize() throws Exception {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            futures.add(async.read(() -> {
+                threads.add(Thread.currentThread().getName());
+                return sleepInDatabase(10);
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get();
+
+        assertTrue(threads.size() <= JPAUtils.getMaximumPoolSize(), "Threads usadas: " + threads.size());
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("async-dao-")));
+    }
+
+    @Test
+    @DisplayName("Timeout deve falhar o future e desfazer a escrita que terminar depois dele")
+    void shouldTimeOutAndRollBackLateWrites() throws Exception {
+        ExecutionException slowRead = assertThrows(ExecutionException.class,
+                () -> async.read(() -> sleepInDatabase(500), Duration.ofMillis(50)).get());
+        assertInstanceOf(TimeoutException.class, slowRead.getCause());
+
+        CompletableFuture<Book> slowWrite = async.inTransaction(() -> {
+            Book saved = bookDAO.save(new Book("Tarde", "Autor", "Sinopse", "async-late", LocalDate.of(2020, 1, 1), category));
+            sleepInDatabase(300);
+            return saved;
+        }, Duration.ofMillis(50));
+        ExecutionException error = assertThrows(ExecutionException.class, slowWrite::get);
+        assertInstanceOf(TimeoutException.class, error.getCause());
+
+        Thread.sleep(500);
+        assertTrue(bookDAO.findByIsbn("async-late").isEmpty(), "Escrita após o timeout não deve ser confirmada");
+    }
+
+    @Test
+    @DisplayName("Escrita assíncrona dentro de uma UnitOfWork deve ser rejeitada; escrita fora deve confirmar")
+    void shouldRejectAsyncWritesInsideUnitOfWork() throws Exception {
+        AsyncBookDAO books = new AsyncBookDAO(async);
+        Book book = new Book("Async", "Autor", "Sinopse", "async-write", LocalDate.of(2020, 1, 1), category);
+
+        assertThrows(DbException.class, () -> UnitOfWork.inTransaction(() -> books.save(book)));
+        Book saved = books.save(book).get();
+
+        assertNotNull(saved.getId());
+        assertTrue(books.existsById(saved.getId()).get());
+    }
+
+    // Segura a conexão por millis dentro do banco, como uma consulta lenta
+    private static int sleepInDatabase(long millis) {
+        EntityManager em = JPAUtils.getEntityManager();
+        try {
+            em.createNativeQuery("SELECT TEST_SLEEP(" + millis + ")").getSingleResult();
+            return 1;
+        } finally {
+            em.close();
+        }
+    }
+}
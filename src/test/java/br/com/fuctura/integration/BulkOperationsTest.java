@@ -0,0 +1,131 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.search.InMemoryBookIndex;
+import br.com.fuctura.util.JPAUtils;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Bulk delete and update without loading entities")
+class BulkOperationsTest {
+
+    private final BookDAO bookDAO = new BookDAO();
+    private Category fiction;
+    private Category poetry;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        fiction = TestData.category("Fiction");
+        poetry = TestData.category("Poetry");
+        statistics = JPAUtils.getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestData.deleteAll();
+    }
+
+    @Test
+    @DisplayName("deleteByIds deve apagar 2.500 livros em 3 comandos, sem carregá-los, e limpar o cache")
+    void shouldDeleteByIdsInChunks() {
+        List<Book> books = TestData.books("bulk", 2_500, fiction);
+        bookDAO.saveAll(books);
+        Book cached = books.get(0);
+        assertTrue(bookDAO.findById(cached.getId()).isPresent());
+        assertTrue(bookDAO.findByIsbn(cached.getIsbn()).isPresent());
+        List<Long> ids = books.stream().map(Book::getId).collect(Collectors.toList());
+
+        statistics.clear();
+        long start = System.nanoTime();
+        int deleted = bookDAO.deleteByIds(ids);
+        double millis = (System.nanoTime() - start) / 1e6;
+
+        System.out.printf("📊 deleteByIds: %d livros, %d statements, %.1fms%n",
+                deleted, statistics.getPrepareStatementCount(), millis);
+        assertEquals(2_500, deleted);
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, TestData.countBooks());
+        assertTrue(bookDAO.findById(cached.getId()).isEmpty(), "Região de entidade deve ter sido descartada");
+        assertTrue(bookDAO.findByIsbn(cached.getIsbn()).isEmpty(), "Região de natural id deve ter sido descartada");
+        assertEquals(0, bookDAO.deleteByIds(List.of()));
+    }
+
+    @Test
+    @DisplayName("reassignCategory deve mover os livros em um UPDATE e invalidar caches de entidade e consulta")
+    void shouldReassignCategoryInOneStatement() {
+        bookDAO.saveAll(TestData.books("move", 100, fiction));
+        bookDAO.saveAll(TestData.books("stay", 10, poetry));
+        Book moved = bookDAO.findByIsbn("move-ISBN-0").orElseThrow();
+        assertEquals("Fiction", bookDAO.findById(moved.getId(), BookDAO.WITH_CATEGORY).orElseThrow().getCategoryName());
+        assertEquals(3, bookDAO.findByAuthor("Author 1", BookDAO.WITH_CATEGORY).size());
+
+        statistics.clear();
+        assertEquals(100, bookDAO.reassignCategory(fiction, poetry));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        assertEquals("Poetry", bookDAO.findById(moved.getId(), BookDAO.WITH_CATEGORY).orElseThrow().getCategoryName());
+        assertTrue(bookDAO.findByAuthor("Author 1", BookDAO.WITH_CATEGORY).stream()
+                .allMatch(book -> book.getCategoryName().equals("Poetry")));
+        assertEquals(0, bookDAO.reassignCategory(fiction, poetry));
+    }
+
+    @Test
+    @DisplayName("deleteByCategory deve apagar em um comando e invalidar o índice de busca")
+    void shouldDeleteByCategoryAndInvalidateSearchIndex() {
+        bookDAO.saveAll(TestData.books("purge", 50, fiction));
+        bookDAO.saveAll(TestData.books("keep", 5, poetry));
+        assertFalse(bookDAO.search("purge", 0, 10).isEmpty());
+        assertTrue(InMemoryBookIndex.getInstance().isBuilt());
+
+        statistics.clear();
+        assertEquals(50, bookDAO.deleteByCategory(fiction));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        assertFalse(InMemoryBookIndex.getInstance().isBuilt());
+        assertTrue(bookDAO.search("purge", 0, 10).isEmpty());
+        assertEquals(5, bookDAO.search("keep", 0, 10).size());
+        assertEquals(5, TestData.countBooks());
+    }
+
+    @Test
+    @DisplayName("deleteWhere/updateWhere públicos devem aceitar condições tipadas da Criteria API")
+    void shouldRunTypedBulkOperations() {
+        bookDAO.saveAll(TestData.books("typed", 48, fiction));
+        bookDAO.saveAll(TestData.books("other", 10, poetry));
+        LocalDate cutoff = LocalDate.of(2012, 1, 1);
+        assertEquals(2, bookDAO.findByAuthor("Author 3").size());
+
+        statistics.clear();
+        int updated = bookDAO.updateWhere(
+                (update, book) -> update.set(book.get("synopsis"), "Reeditado"),
+                (cb, book) -> cb.and(cb.equal(book.get("category"), fiction), cb.equal(book.get("author"), "Author 3")));
+        assertEquals(1, updated);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(List.of("Reeditado", "Synopsis 3"), bookDAO.findByAuthor("Author 3").stream()
+                .map(Book::getSynopsis).sorted().collect(Collectors.toList()));
+
+        statistics.clear();
+        int deleted = bookDAO.deleteWhere((cb, book) -> cb.and(
+                cb.equal(book.get("category"), fiction), cb.lessThan(book.get("releaseYear"), cutoff)));
+        assertEquals(24, deleted);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(34, TestData.countBooks());
+        assertTrue(bookDAO.findByRelease(cutoff.minusYears(13)).stream()
+                .noneMatch(book -> book.getIsbn().startsWith("typed") && book.getReleaseYear().isBefore(cutoff)));
+
+        assertThrows(NullPointerException.class, () -> bookDAO.deleteWhere(null));
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.catalog.CatalogExporter;
+import br.com.fuctura.catalog.CatalogFormat;
+import br.com.fuctura.catalog.CatalogImporter;
+import br.com.fuctura.catalog.ExportColumn;
+import br.com.fuctura.catalog.ExportOptions;
+import br.com.fuctura.catalog.ExportResult;
+import br.com.fuctura.catalog.ImportOptions;
+import br.com.fuctura.catalog.ImportResult;
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Streaming catalog export (cursor -> FileChannel)")
+class CatalogExportTest {
+
+    private final BookDAO bookDAO = new BookDAO();
+    private Category category;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        category = TestData.category("Export");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestData.deleteAll();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Exportar 40.000 livros não deve reter memória proporcional à tabela (findAll + lista retém)")
+    void shouldExportWithFlatHeap() throws Exception {
+        bookDAO.saveAll(TestData.books("heap", 40_000, category));
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long[] usedAt = new long[2];
+
+        Path file = directory.resolve("catalog.csv");
+        ExportResult result = new CatalogExporter(new ExportOptions(file, CatalogFormat.CSV, ExportColumn.DEFAULT,
+                false, 2_000)).run(rows -> {
+            if (rows == 4_000 || rows == 40_000) {
+                usedAt[rows == 4_000 ? 0 : 1] = usedAfterGc(memory);
+            }
+        });
+
+        // Caminho antigo: findAll em uma lista e formatação de todas as linhas antes de gravar
+        long before = usedAfterGc(memory);
+        List<String> lines = bookDAO.findAll().stream()
+                .map(book -> String.join(",", book.getTitle(), book.getAuthor(), book.getSynopsis(), book.getIsbn(),
+                        book.getReleaseYear().toString()))
+                .collect(Collectors.toList());
+        long listRetained = usedAfterGc(memory) - before;
+        long exportGrowth = usedAt[1] - usedAt[0];
+
+        result.print(System.out);
+        System.out.printf("📊 Heap: exportação cresceu %.1fMB entre 4.000 e 40.000 linhas; findAll + lista retém %.1fMB%n",
+                exportGrowth / 1e6, listRetained / 1e6);
+        assertEquals(40_000, lines.size());
+        assertEquals(40_000, result.rows());
+        assertEquals(40_001, Files.lines(file).count(), "Cabeçalho + uma linha por livro");
+        // Heap usado após System.gc() varia com o coletor: só a comparação relativa é estável
+        assertTrue(exportGrowth < listRetained, "Exportação não deve reter memória por linha exportada");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("JSONL com colunas escolhidas e gzip")
+    void shouldExportSelectedColumnsAsGzippedJsonLines() throws Exception {
+        bookDAO.saveAll(TestData.books("json", 500, category));
+        Book special = bookDAO.save(new Book("Título \"com\" aspas", "Autor", "Linha 1\nLinha 2", "json-special",
+                LocalDate.of(2020, 2, 29), null));
+        Path file = directory.resolve("catalog.jsonl.gz");
+
+        ExportOptions options = ExportOptions.parse(new String[]{"export", file.toString(), "--columns=id,title,category"}, 1);
+        ExportResult result = new CatalogExporter(options).run();
+
+        assertTrue(options.gzip());
+        assertEquals(CatalogFormat.JSONL, options.format());
+        assertEquals(501, result.rows());
+        assertTrue(result.fileBytes() < result.textBytes() / 3, "gzip deve reduzir o arquivo");
+        List<String> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            lines = reader.lines().collect(Collectors.toList());
+        }
+        assertEquals(501, lines.size());
+        assertTrue(lines.get(0).matches("\\{\"id\": \\d+, \"title\": \"json title 0\", \"category\": \"Export\"}"), lines.get(0));
+        assertEquals("{\"id\": " + special.getId() + ", \"title\": \"Título \\\"com\\\" aspas\", \"category\": null}",
+                lines.get(500));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("CSV exportado com as colunas padrão deve ser reimportado sem perdas")
+    void shouldRoundTripThroughImporter() throws Exception {
+        // Registro com quebras de linha no meio do arquivo: o seguinte também precisa ser lido inteiro
+        bookDAO.save(new Book("Vírgula, \"aspas\"", "Autor", "Linha 1\nLinha 2, \"citada\"\r\nLinha 3", "round-special",
+                LocalDate.of(1999, 12, 31), category));
+        bookDAO.saveAll(TestData.books("round", 1_000, category));
+        Path file = directory.resolve("round.csv");
+
+        assertEquals(1_001, new CatalogExporter(ExportOptions.of(file)).run().rows());
+        TestData.deleteAll();
+        ImportResult imported = new CatalogImporter(ImportOptions.of(file)).run();
+
+        assertEquals(1_001, imported.imported());
+        assertEquals(0, imported.rejected());
+        Book special = bookDAO.findByIsbn("round-special").orElseThrow();
+        assertEquals("Vírgula, \"aspas\"", special.getTitle());
+        assertEquals("Linha 1\nLinha 2, \"citada\"\r\nLinha 3", special.getSynopsis());
+        assertEquals("round title 0", bookDAO.findByIsbn("round-ISBN-0").orElseThrow().getTitle());
+        assertEquals(LocalDate.of(1999, 12, 31), special.getReleaseYear());
+        assertEquals("Export", bookDAO.findById(special.getId(), BookDAO.WITH_CATEGORY).orElseThrow().getCategoryName());
+    }
+
+    private static long usedAfterGc(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
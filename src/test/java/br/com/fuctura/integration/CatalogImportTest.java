@@ -0,0 +1,203 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.catalog.CatalogFormat;
+import br.com.fuctura.catalog.CatalogImporter;
+import br.com.fuctura.catalog.ImportCheckpoint;
+import br.com.fuctura.catalog.ImportOptions;
+import br.com.fuctura.catalog.ImportResult;
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.util.JPAUtils;
+import jakarta.persistence.EntityManager;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Catalog import pipeline (CSV/JSONL -> StatelessSession)")
+class CatalogImportTest {
+
+    private final BookDAO bookDAO = new BookDAO();
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestData.deleteAll();
+    }
+
+    @Test
+    @DisplayName("CSV com 20.000 linhas deve importar em lotes, rejeitando linhas inválidas com o número da linha")
+    void shouldImportCsvInBatches() throws Exception {
+        TestData.category("Romance");
+        Path file = directory.resolve("catalog.csv");
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("title,author,synopsis,isbn,release_year,category\n");
+            for (int i = 0; i < 20_000; i++) {
+                out.write(String.format("\"Livro %d, volume único\",Autor %d,\"Sinopse com \"\"aspas\"\"\",csv-%d,%d,%s\r\n",
+                        i, i % 100, i, 1950 + i % 70, i % 2 == 0 ? "Romance" : "Poesia"));
+            }
+            out.write("Sem ISBN,Autor,Sinopse,,2001,Romance\n");
+            out.write("Data ruim,Autor,Sinopse,csv-bad-date,31/12/2001,Romance\n");
+            out.write("Duplicado,Autor,Sinopse,csv-7,2001,Romance\n");
+            out.write("\n");
+            out.write("Último sem quebra de linha,Autor,Sinopse,csv-last,2020-05-17,Nova Categoria");
+        }
+        Statistics statistics = JPAUtils.getStatistics();
+        statistics.clear();
+
+        ImportResult result = new CatalogImporter(new ImportOptions(file, CatalogFormat.CSV, 4, 1_000,
+                4096, 1024 * 1024, ImportOptions.of(file).checkpoint())).run();
+
+        result.print(System.out);
+        System.out.printf("📊 %d statements preparados para %d linhas%n",
+                statistics.getPrepareStatementCount(), result.imported());
+        assertEquals(20_006, result.lines());
+        assertEquals(20_001, result.imported());
+        assertEquals(3, result.rejected());
+        assertEquals(20_001, TestData.countBooks());
+        assertEquals(20_002, result.rejections().get(0).line());
+        assertTrue(result.rejections().stream().anyMatch(r -> r.line() == 20_004 && r.reason().contains("rejeitado pelo banco")));
+        assertTrue(statistics.getPrepareStatementCount() < result.imported() / 10, "Inserts devem ir em lotes JDBC");
+        assertFalse(Files.exists(ImportOptions.of(file).checkpoint()), "Checkpoint é removido ao final");
+
+        Book first = bookDAO.findByIsbn("csv-0").orElseThrow();
+        assertEquals("Livro 0, volume único", first.getTitle());
+        assertEquals("Sinopse com \"aspas\"", first.getSynopsis());
+        assertEquals(LocalDate.of(1950, 1, 1), first.getReleaseYear());
+        assertEquals("Romance", bookDAO.findById(first.getId(), BookDAO.WITH_CATEGORY).orElseThrow().getCategoryName());
+        assertEquals(LocalDate.of(2020, 5, 17), bookDAO.findByIsbn("csv-last").orElseThrow().getReleaseYear());
+        assertEquals(1, bookDAO.search("Último", 0, 10).size(), "Índice de busca é reconstruído após a importação");
+    }
+
+    @Test
+    @DisplayName("JSONL deve ser importado com escapes e categorias resolvidas por nome")
+    void shouldImportJsonLines() throws Exception {
+        Path file = directory.resolve("catalog.jsonl");
+        Files.writeString(file, String.join("\n",
+                "{\"title\": \"Mar \\\"aberto\\\"\", \"author\": \"Ana\", \"synopsis\": \"Linha\\nnova\", \"isbn\": \"json-1\", \"release_year\": 1999, \"category\": \"Mar\"}",
+                "{\"title\": \"Rio\", \"author\": \"João\", \"synopsis\": null, \"isbn\": \"json-2\", \"release_year\": \"2005-03-01\", \"category\": \"Mar\", \"category_description\": \"Livros sobre o mar\"}",
+                "{\"title\": \"Quebrado\", \"author\": ",
+                ""));
+
+        ImportResult result = new CatalogImporter(ImportOptions.of(file)).run();
+
+        assertEquals(2, result.imported());
+        assertEquals(1, result.rejected());
+        assertEquals(3, result.rejections().get(0).line());
+        Book book = bookDAO.findByIsbn("json-1").orElseThrow();
+        assertEquals("Mar \"aberto\"", book.getTitle());
+        assertEquals("Linha\nnova", book.getSynopsis());
+        assertEquals(LocalDate.of(1999, 1, 1), book.getReleaseYear());
+        EntityManager em = JPAUtils.getEntityManager();
+        try {
+            assertEquals(1, em.createQuery("SELECT COUNT(c) FROM Category c WHERE c.name = 'Mar'", Long.class)
+                    .getSingleResult(), "A segunda linha reutiliza a categoria criada pela primeira");
+        } finally {
+            em.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Importação com checkpoint deve continuar do byte seguinte ao último bloco confirmado")
+    void shouldResumeFromCheckpoint() throws Exception {
+        Path file = directory.resolve("resume.csv");
+        StringBuilder content = new StringBuilder();
+        long offsetAfterLine1000 = 0;
+        for (int i = 1; i <= 3_000; i++) {
+            content.append("Livro ").append(i).append(",Autor,Sinopse,resume-").append(i).append(",2010,Retomada\n");
+            if (i == 1_000) {
+                offsetAfterLine1000 = content.toString().getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        Files.writeString(file, content);
+        ImportOptions options = ImportOptions.of(file);
+        new ImportCheckpoint(offsetAfterLine1000, 1_000, 1_000, 0).save(options.checkpoint());
+
+        ImportResult result = new CatalogImporter(options).run();
+
+        assertEquals(2_000, result.lines());
+        assertEquals(2_000, result.imported());
+        assertTrue(bookDAO.findByIsbn("resume-1000").isEmpty());
+        assertTrue(bookDAO.findByIsbn("resume-1001").isPresent());
+        assertTrue(bookDAO.findByIsbn("resume-3000").isPresent());
+        assertFalse(Files.exists(options.checkpoint()));
+    }
+
+    @Test
+    @DisplayName("Aspa solta no meio de um campo é um caractere; aspas sem fechamento rejeitam só a própria linha")
+    void shouldRecoverFromStrayAndUnterminatedQuotes() throws Exception {
+        Path file = directory.resolve("quotes.csv");
+        Files.writeString(file, String.join("\n",
+                "Disco 12\" vinil,Autor,Sinopse,quote-1,2001,Aspas",
+                "Depois,Autor,\"Sinopse \"\"citada\"\"\nem duas linhas\",quote-3,2002,Aspas",
+                "Sem fechar,Autor,\"Sinopse que nunca fecha,quote-2,2001,Aspas",
+                "Último,Autor,Sinopse,quote-4,2003,Aspas",
+                ""));
+
+        ImportResult result = new CatalogImporter(ImportOptions.of(file)).run();
+
+        result.print(System.out);
+        assertEquals(3, result.imported());
+        assertEquals(1, result.rejected());
+        assertEquals(4, result.rejections().get(0).line());
+        assertEquals("Disco 12\" vinil", bookDAO.findByIsbn("quote-1").orElseThrow().getTitle());
+        assertEquals("Sinopse \"citada\"\nem duas linhas", bookDAO.findByIsbn("quote-3").orElseThrow().getSynopsis());
+        assertTrue(bookDAO.findByIsbn("quote-4").isPresent());
+    }
+
+    @Test
+    @DisplayName("Campo entre aspas sem fechamento maior que max-record não deve engolir o resto do arquivo")
+    void shouldRejectRecordsOverTheSizeLimit() throws Exception {
+        Path file = directory.resolve("unterminated.csv");
+        StringBuilder content = new StringBuilder("Aberto,Autor,\"Sinopse sem fechar,limit-0,2001,Limite\n");
+        for (int i = 1; i <= 2_000; i++) {
+            content.append("Livro ").append(i).append(",Autor,Sinopse,limit-").append(i).append(",2010,Limite\n");
+        }
+        content.append("Gigante,Autor,").append("x".repeat(8_192)).append(",limit-big,2010,Limite\n");
+        content.append("Final,Autor,Sinopse,limit-final,2010,Limite\n");
+        Files.writeString(file, content);
+
+        ImportResult result = new CatalogImporter(new ImportOptions(file, CatalogFormat.CSV, 2, 500,
+                4096, 4096, ImportOptions.of(file).checkpoint())).run();
+
+        result.print(System.out);
+        assertEquals(2_001, result.imported());
+        assertEquals(2, result.rejected());
+        assertEquals(1, result.rejections().get(0).line());
+        assertEquals(2_002, result.rejections().get(1).line());
+        assertTrue(result.rejections().get(1).reason().contains("4096 bytes"));
+        assertTrue(bookDAO.findByIsbn("limit-1").isPresent());
+        assertTrue(bookDAO.findByIsbn("limit-final").isPresent());
+    }
+
+    @Test
+    @DisplayName("Opções da linha de comando do modo import")
+    void shouldParseCommandLine() {
+        Path file = directory.resolve("catalog.txt");
+        ImportOptions options = ImportOptions.parse(new String[]{"import", file.toString(), "--format=jsonl",
+                "--parallelism=2", "--chunk=500", "--window-mb=8", "--max-record-kb=16"}, 1);
+
+        assertEquals(CatalogFormat.JSONL, options.format());
+        assertEquals(2, options.parallelism());
+        assertEquals(500, options.chunkRows());
+        assertEquals(8L * 1024 * 1024, options.windowBytes());
+        assertEquals(16 * 1024, options.maxRecordBytes());
+        assertEquals(directory.resolve("catalog.txt.checkpoint"), options.checkpoint());
+        assertThrows(IllegalArgumentException.class, () -> ImportOptions.parse(new String[]{"import", file.toString()}, 1));
+        assertThrows(IllegalArgumentException.class, () -> ImportOptions.parse(new String[]{"import"}, 1));
+    }
+}
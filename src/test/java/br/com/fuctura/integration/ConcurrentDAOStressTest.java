@@ -0,0 +1,135 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.JPAUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.*;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Shared BookDAO under concurrent load")
+class ConcurrentDAOStressTest {
+
+    private static final int TASKS = 400;
+
+    private final BookDAO sharedDAO = new BookDAO();
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        category = TestData.category("Concurrency");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestData.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Centenas de threads devem usar um único BookDAO sem erros nem perda de dados")
+    void shouldHandleHundredsOfThreadsOnOneDAO() throws Exception {
+        AtomicLong operations = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+
+        ExecutorService executor = newExecutor();
+        long began;
+        try {
+            for (int i = 0; i < TASKS; i++) {
+                int task = i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    Book book = sharedDAO.save(new Book("Stress " + task, "Author " + (task % 20), "Synopsis",
+                            "STRESS-" + task, LocalDate.of(2000 + task % 20, 1, 1), category));
+
+                    Book loaded = sharedDAO.findById(book.getId()).orElseThrow();
+                    assertEquals("Stress " + task, loaded.getTitle());
+                    assertFalse(sharedDAO.findByAuthor("Author " + (task % 20)).isEmpty());
+
+                    loaded.setTitle("Stress " + task + " updated");
+                    sharedDAO.update(loaded);
+
+                    if (task % 2 == 0) {
+                        sharedDAO.deleteById(book.getId());
+                        assertFalse(sharedDAO.existsById(book.getId()));
+                    }
+                    operations.addAndGet(task % 2 == 0 ? 6 : 4);
+                    return book.getId();
+                }));
+            }
+            began = System.nanoTime();
+            start.countDown();
+            for (Future<Long> result : results) {
+                assertNotNull(result.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double seconds = (System.nanoTime() - began) / 1_000_000_000.0;
+
+        System.out.printf("📊 %d tarefas concorrentes (%s): %.0f operações/s%n",
+                TASKS, executor.getClass().getSimpleName(), operations.get() / seconds);
+
+        assertEquals(TASKS / 2, TestData.countBooks(), "Metade dos livros deve ter sido removida");
+        assertTrue(sharedDAO.findByTitle("updated").stream().allMatch(book -> book.getTitle().endsWith("updated")));
+        assertEquals(TASKS / 2, sharedDAO.findByTitle("updated").size());
+        assertEquals(0, JPAUtils.getConnectionPoolStats().activeConnections());
+    }
+
+    @Test
+    @DisplayName("Primeiro acesso concorrente deve criar uma única EntityManagerFactory e um único pool")
+    void shouldInitializeFactoryOnceUnderContention() throws Exception {
+        JPAUtils.closeEntityManagerFactory();
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<EntityManagerFactory>> results = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return JPAUtils.getEntityManagerFactory();
+                }));
+            }
+            start.countDown();
+            Set<EntityManagerFactory> factories = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<EntityManagerFactory> result : results) {
+                factories.add(result.get(60, TimeUnit.SECONDS));
+            }
+            assertEquals(1, factories.size());
+        } finally {
+            executor.shutdown();
+        }
+
+        Set<ObjectName> pools = ManagementFactory.getPlatformMBeanServer()
+                .queryNames(new ObjectName("com.zaxxer.hikari:type=Pool (fuctura-pool*"), null);
+        assertEquals(1, pools.size(), "Pools criados: " + pools);
+    }
+
+    // Virtual threads quando o runtime é Java 21+; caso contrário, um pool grande de threads de plataforma
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(200);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.CategoryDAO;
+import br.com.fuctura.util.ConnectionPoolStats;
+import br.com.fuctura.util.JPAUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JPAUtils Connection Pool (HikariCP)")
+class ConnectionPoolTest {
+
+    @Test
+    @DisplayName("Pool deve respeitar o tamanho máximo e registrar o tempo de espera sob concorrência")
+    void shouldBoundConnectionsAndRecordWaitTime() throws Exception {
+        ConnectionPoolStats before = JPAUtils.getConnectionPoolStats();
+
+        int threads = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    CategoryDAO dao = new CategoryDAO();
+                    for (int j = 0; j < 20; j++) {
+                        dao.findAll();
+                        assertTrue(JPAUtils.getConnectionPoolStats().totalConnections() <= before.maxPoolSize());
+                    }
+                    dao.close();
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        ConnectionPoolStats after = JPAUtils.getConnectionPoolStats();
+        System.out.println("📊 " + after);
+
+        assertEquals(10, after.maxPoolSize(), "pool.maximumPoolSize do db.properties de teste");
+        assertTrue(after.acquisitions() >= before.acquisitions() + threads * 20L);
+        assertEquals(0, after.activeConnections(), "Todas as conexões devem voltar ao pool");
+        assertEquals(0, after.threadsAwaitingConnection());
+        assertEquals(0, after.timeouts());
+        assertTrue(after.maxWaitMillis() >= after.averageWaitMillis());
+    }
+
+    @Test
+    @DisplayName("Gauges do pool devem estar expostos via JMX")
+    void shouldExposePoolMBean() throws Exception {
+        JPAUtils.getEntityManagerFactory();
+
+        ObjectName poolName = new ObjectName("com.zaxxer.hikari:type=Pool (fuctura-pool)");
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(poolName));
+        assertNotNull(ManagementFactory.getPlatformMBeanServer().getAttribute(poolName, "ActiveConnections"));
+    }
+}
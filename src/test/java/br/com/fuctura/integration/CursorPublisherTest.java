@@ -0,0 +1,178 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.JPAUtils;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Flow.Publisher sobre cursor (backpressure)")
+class CursorPublisherTest {
+
+    private final BookDAO bookDAO = new BookDAO();
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        category = TestData.category("Publisher");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestData.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Só deve ler o que foi pedido e liberar a conexão no cancel")
+    void shouldRespectDemandAndReleaseOnCancel() throws Exception {
+        bookDAO.saveAll(TestData.books("demand", 2_000, category));
+        RecordingSubscriber<Book> subscriber = new RecordingSubscriber<>(0);
+
+        bookDAO.publishAll(100).subscribe(subscriber);
+        assertTrue(subscriber.subscribed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, JPAUtils.getConnectionPoolStats().activeConnections(), "Cursor só abre no primeiro request");
+
+        subscriber.subscription.request(5);
+        awaitItems(subscriber, 5);
+        Thread.sleep(200);
+        assertEquals(5, subscriber.items.size(), "Nenhum item além da demanda");
+        assertEquals(1, JPAUtils.getConnectionPoolStats().activeConnections(), "Cursor aberto segura uma conexão");
+
+        subscriber.subscription.cancel();
+        awaitNoActiveConnections();
+        assertFalse(subscriber.completed.await(200, TimeUnit.MILLISECONDS), "cancel não sinaliza onComplete");
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    @DisplayName("Assinante lento (request(1) por item) deve receber tudo, em ordem, e onComplete")
+    void shouldDeliverEverythingToSlowSubscriber() throws Exception {
+        bookDAO.saveAll(TestData.books("slow", 2_000, category));
+        RecordingSubscriber<Book> subscriber = new RecordingSubscriber<>(1);
+
+        bookDAO.publishByAuthor("Author 7", 8).subscribe(subscriber);
+
+        assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+        assertNull(subscriber.error);
+        assertEquals(40, subscriber.items.size());
+        assertTrue(subscriber.items.stream().allMatch(book -> book.getAuthor().equals("Author 7")));
+        for (int i = 1; i < subscriber.items.size(); i++) {
+            assertTrue(subscriber.items.get(i - 1).getId() < subscriber.items.get(i).getId());
+        }
+        awaitNoActiveConnections();
+    }
+
+    @Test
+    @DisplayName("request(0) deve sinalizar onError e fechar o cursor")
+    void shouldFailOnNonPositiveRequest() throws Exception {
+        bookDAO.saveAll(TestData.books("invalid", 50, category));
+        RecordingSubscriber<Book> subscriber = new RecordingSubscriber<>(0);
+        bookDAO.publishByTitle("invalid", 10).subscribe(subscriber);
+        assertTrue(subscriber.subscribed.await(5, TimeUnit.SECONDS));
+
+        subscriber.subscription.request(3);
+        awaitItems(subscriber, 3);
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.failed.await(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        awaitNoActiveConnections();
+        assertThrows(IllegalArgumentException.class, () -> bookDAO.publishAll(0));
+    }
+
+    @Test
+    @DisplayName("Benchmark: primeiro item do Publisher vs getResultList de 20.000 livros")
+    void shouldDeliverFirstItemBeforeFullResultList() throws Exception {
+        bookDAO.saveAll(TestData.books("first", 20_000, category));
+        bookDAO.findAll();
+
+        long start = System.nanoTime();
+        List<Book> all = bookDAO.findAll();
+        double findAllMillis = (System.nanoTime() - start) / 1e6;
+
+        RecordingSubscriber<Book> subscriber = new RecordingSubscriber<>(0);
+        start = System.nanoTime();
+        bookDAO.publishAll(500).subscribe(subscriber);
+        assertTrue(subscriber.subscribed.await(5, TimeUnit.SECONDS));
+        subscriber.subscription.request(1);
+        awaitItems(subscriber, 1);
+        double firstItemMillis = (System.nanoTime() - start) / 1e6;
+        subscriber.subscription.cancel();
+        awaitNoActiveConnections();
+
+        System.out.printf("📊 findAll (%d livros): %.1fms, primeiro item do Publisher: %.1fms%n",
+                all.size(), findAllMillis, firstItemMillis);
+        assertEquals(20_000, all.size());
+        assertTrue(firstItemMillis < findAllMillis, "O primeiro item não deve esperar a tabela inteira");
+    }
+
+    private static void awaitItems(RecordingSubscriber<?> subscriber, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (subscriber.items.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, subscriber.items.size());
+    }
+
+    // A liberação acontece na thread do publisher, logo após o sinal
+    private static void awaitNoActiveConnections() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (JPAUtils.getConnectionPoolStats().activeConnections() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, JPAUtils.getConnectionPoolStats().activeConnections(), "Cursor e conexão devem ser liberados");
+    }
+
+    // batch > 0 pede mais batch itens a cada batch recebidos; 0 deixa os requests com o teste
+    private static final class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+
+        private final int batch;
+        private final List<T> items = new CopyOnWriteArrayList<>();
+        private final CountDownLatch subscribed = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch failed = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+
+        RecordingSubscriber(int batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscribed.countDown();
+            if (batch > 0) {
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+            if (batch > 0 && items.size() % batch == 0) {
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            failed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.metrics.ConsoleMetricsReporter;
+import br.com.fuctura.metrics.DaoMetrics;
+import br.com.fuctura.metrics.MetricsReporter;
+import br.com.fuctura.metrics.OperationSnapshot;
+import br.com.fuctura.util.JPAUtils;
+import org.junit.jupiter.api.*;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DAO operation metrics and Hibernate statistics")
+class DaoMetricsTest {
+
+    private final BookDAO bookDAO = new BookDAO();
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        category = TestData.category("Metrics");
+        bookDAO.saveAll(TestData.books("metrics", 20, category));
+        JPAUtils.getEntityManagerFactory().getCache().evictAll();
+        DaoMetrics.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        DaoMetrics.setEnabled(true);
+        TestData.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Cada operação deve registrar chamadas, erros, latência e comandos SQL")
+    void shouldRecordPerOperationMetrics() {
+        Book book = bookDAO.findByIsbn("metrics-ISBN-3").orElseThrow();
+        for (int i = 0; i < 10; i++) {
+            bookDAO.findByAuthor("Author " + i);
+        }
+        bookDAO.findById(book.getId());
+        Book duplicate = new Book("dup", "Author", "Synopsis", "metrics-ISBN-4", LocalDate.of(2020, 1, 1), category);
+        assertThrows(RuntimeException.class, () -> bookDAO.save(duplicate));
+
+        OperationSnapshot finder = DaoMetrics.snapshot("Book.findByAuthor");
+        assertEquals(10, finder.count());
+        assertEquals(0, finder.errors());
+        assertEquals(10, finder.statements(), "Um SELECT por chamada (cache de consultas vazio)");
+        assertTrue(finder.p50Millis() > 0 && finder.p999Millis() >= finder.p50Millis());
+
+        assertEquals(0, DaoMetrics.snapshot("Book.findById").statements(), "findById deve vir do cache de segunda camada");
+
+        OperationSnapshot save = DaoMetrics.snapshot("Book.save");
+        assertEquals(1, save.count());
+        assertEquals(1, save.errors());
+    }
+
+    @Test
+    @DisplayName("Métricas devem ser publicadas via JMX e para os reporters registrados")
+    void shouldExposeMetricsThroughJmxAndReporters() throws Exception {
+        bookDAO.findAll();
+        bookDAO.findAll();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(2L, server.getAttribute(new ObjectName("br.com.fuctura:type=DaoOperation,name=Book.findAll"), "Count"));
+        long loads = (Long) server.getAttribute(new ObjectName("br.com.fuctura:type=HibernateStatistics"), "EntityLoadCount");
+        assertTrue(loads >= 40);
+
+        List<OperationSnapshot> reported = new ArrayList<>();
+        MetricsReporter reporter = (operations, statistics) -> {
+            assertNotNull(statistics);
+            reported.addAll(operations);
+        };
+        ConsoleMetricsReporter console = new ConsoleMetricsReporter();
+        DaoMetrics.addReporter(reporter);
+        DaoMetrics.addReporter(console);
+        try {
+            DaoMetrics.report();
+        } finally {
+            DaoMetrics.removeReporter(reporter);
+            DaoMetrics.removeReporter(console);
+        }
+        assertTrue(reported.stream().anyMatch(snapshot -> snapshot.operation().equals("Book.findAll") && snapshot.count() == 2));
+    }
+
+    @Test
+    @DisplayName("Benchmark: custo da instrumentação em findById servido pelo cache")
+    void benchmarkInstrumentationOverhead() {
+        Long id = bookDAO.findByIsbn("metrics-ISBN-1").orElseThrow().getId();
+        int calls = 20_000;
+        for (int i = 0; i < calls; i++) {
+            bookDAO.findById(id);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            bookDAO.findById(id);
+        }
+        double enabledMicros = (System.nanoTime() - start) / 1_000.0 / calls;
+
+        DaoMetrics.setEnabled(false);
+        start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            bookDAO.findById(id);
+        }
+        double disabledMicros = (System.nanoTime() - start) / 1_000.0 / calls;
+
+        System.out.printf("📊 findById (cache L2): com métricas=%.2fµs, sem métricas=%.2fµs%n", enabledMicros, disabledMicros);
+        assertEquals(2L * calls, DaoMetrics.snapshot("Book.findById").count());
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.JPAUtils;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Fetch plans for Book -> Category")
+class FetchPlanTest {
+
+    private static final int CATEGORIES = 5;
+
+    private final BookDAO bookDAO = new BookDAO();
+    private final List<Book> books = new ArrayList<>();
+    private Statistics statistics;
+    private PersistenceUnitUtil units;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        for (int i = 0; i < CATEGORIES * 4; i++) {
+            Category category = i < CATEGORIES ? TestData.category("Plan " + i) : books.get(i % CATEGORIES).getCategory();
+            books.add(new Book("Plan title " + i, "Author " + (i % 2), "Synopsis", "plan-" + i, LocalDate.of(2020, 1, 1), category));
+        }
+        bookDAO.saveAll(books);
+        JPAUtils.getEntityManagerFactory().getCache().evictAll();
+        statistics = JPAUtils.getStatistics();
+        statistics.clear();
+        units = JPAUtils.getEntityManagerFactory().getPersistenceUnitUtil();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestData.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Sem fetch plan a categoria não é carregada (nenhum join, nenhum SELECT extra)")
+    void shouldSkipCategoryByDefault() {
+        List<Book> loaded = bookDAO.findAll();
+
+        assertEquals(books.size(), loaded.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(loaded.stream().noneMatch(book -> units.isLoaded(book, "category")));
+        assertEquals(0, statistics.getDomainDataRegionStatistics("category").getPutCount());
+    }
+
+    @Test
+    @DisplayName("WITH_CATEGORY deve trazer livros e categorias em um único SELECT")
+    void shouldLoadCategoriesInOneJoinedQuery() {
+        List<Book> loaded = bookDAO.findAll(BookDAO.WITH_CATEGORY);
+
+        assertEquals(1, statistics.getPrepareStatementCount(), "Uma consulta com join, sem N+1");
+        assertTrue(loaded.stream().allMatch(book -> book.getCategoryName().startsWith("Plan ")));
+
+        List<Book> byAuthor = bookDAO.findByAuthor("Author 1", BookDAO.WITH_CATEGORY);
+        assertEquals(books.size() / 2, byAuthor.size());
+        assertTrue(byAuthor.stream().allMatch(book -> book.getCategoryName() != null));
+        assertTrue(bookDAO.findByTitle("Plan title 1", BookDAO.WITH_CATEGORY).stream()
+                .allMatch(book -> book.getCategoryName() != null));
+    }
+
+    @Test
+    @DisplayName("findById com WITH_CATEGORY deve inicializar a categoria com o livro frio ou em cache")
+    void shouldLoadCategoryById() {
+        Long id = books.get(3).getId();
+
+        assertEquals("Plan 3", bookDAO.findById(id, BookDAO.WITH_CATEGORY).orElseThrow().getCategoryName());
+        assertEquals("Plan 3", bookDAO.findById(id, BookDAO.WITH_CATEGORY).orElseThrow().getCategoryName());
+        assertFalse(units.isLoaded(bookDAO.findById(id).orElseThrow(), "category"));
+    }
+
+    @Test
+    @DisplayName("Resultado do cache de consultas deve respeitar o fetch plan pedido")
+    void shouldHonourPlanOnQueryCacheHits() {
+        assertEquals(books.size() / 2, bookDAO.findByAuthor("Author 0").size());
+        List<Book> cached = bookDAO.findByAuthor("Author 0", BookDAO.WITH_CATEGORY);
+
+        assertTrue(cached.stream().allMatch(book -> book.getCategoryName() != null));
+        List<Book> again = bookDAO.findByAuthor("Author 0", BookDAO.WITH_CATEGORY);
+        assertTrue(again.stream().allMatch(book -> book.getCategoryName() != null));
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.dao.UnitOfWork;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.search.InMemoryBookIndex;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("BookDAO Full-Text Search")
+class FullTextSearchTest {
+
+    private static final String[] WORDS = {"dragon", "empire", "river", "winter", "garden", "machine",
+            "ocean", "shadow", "crown", "forest", "signal", "harbor", "silence", "engine", "mirror"};
+
+    private BookDAO bookDAO;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        bookDAO = new BookDAO();
+        category = TestData.category("Search");
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookDAO.close();
+        TestData.deleteAll();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Resultados devem ser ordenados por relevância: título > autor > sinopse")
+    void shouldRankTitleMatchesFirst() {
+        Book inSynopsis = bookDAO.save(book("Harbor Lights", "Ana Lima", "A story about a lonely lighthouse keeper"));
+        Book inTitle = bookDAO.save(book("The Lighthouse", "João Souza", "Sea stories"));
+        Book inAuthor = bookDAO.save(book("Coastal Tales", "Maria Lighthouse", "Short stories"));
+        bookDAO.save(book("Unrelated", "Someone", "Nothing to see here"));
+
+        List<Long> ids = bookDAO.search("lighthouse", 0, 10).stream().map(Book::getId).collect(Collectors.toList());
+
+        assertEquals(List.of(inTitle.getId(), inAuthor.getId(), inSynopsis.getId()), ids);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Busca deve exigir todos os termos, ignorar acentos/caixa e paginar")
+    void shouldMatchAllTermsIgnoringAccentsAndPage() {
+        for (int i = 0; i < 25; i++) {
+            bookDAO.save(book("Coração do Dragão " + i, "Author " + i, "Aventura épica número " + i));
+        }
+        bookDAO.save(book("Dragão solitário", "Outro", "Sem a outra palavra"));
+
+        assertEquals(26, bookDAO.search("DRAGAO", 0, 100).size());
+        assertEquals(25, bookDAO.search("dragao coracao", 0, 100).size());
+
+        List<Book> first = bookDAO.search("dragao coracao", 0, 10);
+        List<Book> third = bookDAO.search("dragao coracao", 2, 10);
+        assertEquals(10, first.size());
+        assertEquals(5, third.size());
+        assertTrue(bookDAO.search("inexistente", 0, 10).isEmpty());
+
+        // Caixa independente do locale da JVM (em turco "I".toLowerCase() é "ı")
+        Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            bookDAO.save(book("INDIGO", "Outro", "Sinopse"));
+            assertEquals(1, bookDAO.search("indigo", 0, 10).size());
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Índice deve acompanhar inserções, atualizações e remoções")
+    void shouldKeepIndexInSyncWithWrites() {
+        Book book = bookDAO.save(book("Winter Garden", "Author", "Synopsis"));
+        assertEquals(1, bookDAO.search("winter", 0, 10).size());
+
+        book.setTitle("Summer Garden");
+        bookDAO.update(book);
+        assertTrue(bookDAO.search("winter", 0, 10).isEmpty());
+        assertEquals(1, bookDAO.search("summer", 0, 10).size());
+
+        bookDAO.save(book("Winter Again", "Author", "Synopsis"));
+        assertEquals(1, bookDAO.search("winter", 0, 10).size());
+
+        bookDAO.deleteById(book.getId());
+        assertTrue(bookDAO.search("summer", 0, 10).isEmpty());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Escritas desfeitas (rollback) não devem deixar termos no índice")
+    void shouldIgnoreRolledBackWrites() {
+        Book book = bookDAO.save(book("Winter Garden", "Author", "Synopsis"));
+        assertEquals(1, bookDAO.search("winter", 0, 10).size());
+
+        assertThrows(IllegalStateException.class, () -> UnitOfWork.inTransaction(() -> {
+            bookDAO.save(book("Ghost Story", "Author", "Synopsis"));
+            book.setTitle("Phantom Garden");
+            bookDAO.update(book);
+            throw new IllegalStateException("rollback");
+        }));
+
+        assertTrue(bookDAO.search("ghost", 0, 10).isEmpty());
+        assertTrue(bookDAO.search("phantom", 0, 10).isEmpty());
+        assertEquals(1, bookDAO.search("winter", 0, 10).size());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Escritas confirmadas enquanto o índice é reconstruído não devem se perder")
+    void shouldKeepWritesCommittedDuringRebuild() {
+        Book kept = bookDAO.save(book("Winter Garden", "Author", "Synopsis"));
+        Book removed = bookDAO.save(book("Winter Crown", "Author", "Synopsis"));
+        InMemoryBookIndex index = InMemoryBookIndex.getInstance();
+        index.invalidate();
+
+        // Snapshot lido antes dos dois commits abaixo, que chegam ao listener durante a reconstrução
+        index.beginRebuild();
+        Book late = bookDAO.save(book("Winter Signal", "Author", "Synopsis"));
+        bookDAO.deleteById(removed.getId());
+        index.rebuild(List.of(
+                new Object[]{kept.getId(), kept.getTitle(), kept.getAuthor(), kept.getSynopsis()},
+                new Object[]{removed.getId(), removed.getTitle(), removed.getAuthor(), removed.getSynopsis()}));
+
+        assertTrue(index.isBuilt());
+        assertEquals(Set.of(kept.getId(), late.getId()),
+                bookDAO.search("winter", 0, 10).stream().map(Book::getId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Benchmark: busca textual vs LIKE '%x%' conforme a tabela cresce")
+    void benchmarkSearchAgainstLike() {
+        int loaded = 0;
+        for (int size : new int[]{1_000, 5_000, 20_000}) {
+            bookDAO.saveAll(generatedBooks(loaded, size - loaded));
+            loaded = size;
+
+            bookDAO.search("warmup", 0, 20);
+            int queries = 50;
+            long start = System.nanoTime();
+            for (int i = 0; i < queries; i++) {
+                bookDAO.findByTitle(WORDS[i % WORDS.length] + " " + (i % 7) + " ");
+            }
+            double likeMillis = (System.nanoTime() - start) / 1_000_000.0 / queries;
+
+            start = System.nanoTime();
+            for (int i = 0; i < queries; i++) {
+                bookDAO.search(WORDS[i % WORDS.length] + " " + WORDS[(i + 3) % WORDS.length], 0, 20);
+            }
+            double searchMillis = (System.nanoTime() - start) / 1_000_000.0 / queries;
+
+            System.out.printf("📊 %,d livros: LIKE=%.2fms/consulta, search=%.2fms/consulta%n", size, likeMillis, searchMillis);
+        }
+        assertEquals(20_000, TestData.countBooks());
+    }
+
+    private List<Book> generatedBooks(int offset, int count) {
+        List<Book> books = new ArrayList<>(count);
+        for (int i = offset; i < offset + count; i++) {
+            books.add(new Book(
+                    WORDS[i % WORDS.length] + " " + WORDS[(i / 3) % WORDS.length] + " " + (i % 7),
+                    "Author " + (i % 500),
+                    "The " + WORDS[(i / 7) % WORDS.length] + " of the " + WORDS[(i / 11) % WORDS.length],
+                    "FTS-" + i,
+                    LocalDate.of(1950 + i % 70, 1, 1),
+                    category));
+        }
+        return books;
+    }
+
+    private Book book(String title, String author, String synopsis) {
+        return new Book(title, author, synopsis, "FTS-" + title.hashCode() + "-" + author.hashCode(),
+                LocalDate.of(2020, 1, 1), category);
+    }
+}
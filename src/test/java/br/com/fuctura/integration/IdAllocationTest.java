@@ -0,0 +1,122 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.IdBlockPrefetcher;
+import br.com.fuctura.util.JPAUtils;
+import br.com.fuctura.util.PooledLoSequenceGenerator;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sequências pooled-lo com bloco de ids compartilhado")
+class IdAllocationTest {
+
+    private final BookDAO bookDAO = new BookDAO();
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestData.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Sequências devem ter nome explícito e INCREMENT BY = id.<entidade>.allocationSize")
+    void shouldCreateSequencesWithConfiguredIncrement() {
+        assertEquals(50, sequenceIncrement("BOOK_SEQ"));
+        assertEquals(10, sequenceIncrement("CATEGORY_SEQ"));
+        assertEquals(50, prefetcher(Book.class).getBlockSize());
+        assertEquals(10, prefetcher(Category.class).getBlockSize());
+    }
+
+    @Test
+    @DisplayName("8 threads x 300 livros: ids únicos e uma ida à sequência a cada 50 ids")
+    void shouldShareBlocksBetweenThreads() throws Exception {
+        Category category = TestData.category("Ids");
+        IdBlockPrefetcher prefetcher = prefetcher(Book.class);
+        long callsBefore = prefetcher.getSequenceCalls();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<List<Book>>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                String prefix = "ids-" + t;
+                futures.add(executor.submit(() -> {
+                    List<Book> books = TestData.books(prefix, 300, category);
+                    bookDAO.saveAll(books);
+                    return books;
+                }));
+            }
+            Set<Long> ids = new HashSet<>();
+            for (Future<List<Book>> future : futures) {
+                future.get().forEach(book -> ids.add(book.getId()));
+            }
+            assertEquals(2_400, ids.size());
+        } finally {
+            executor.shutdown();
+        }
+
+        long calls = prefetcher.getSequenceCalls() - callsBefore;
+        System.out.printf("📊 2.400 inserts em 8 threads: %d chamadas à sequência%n", calls);
+        assertEquals(2_400, TestData.countBooks());
+        // 48 blocos; no máximo um bloco a mais por thread que perdeu a troca e ainda não foi consumido
+        assertTrue(calls >= 47 && calls <= 48 + 8, "Chamadas à sequência: " + calls);
+    }
+
+    @Test
+    @DisplayName("100 threads de vida curta com um livro cada não devem gastar um bloco por thread")
+    void shouldNotWasteBlocksOnShortLivedThreads() throws Exception {
+        Category category = TestData.category("Ids curtos");
+        IdBlockPrefetcher prefetcher = prefetcher(Book.class);
+        long callsBefore = prefetcher.getSequenceCalls();
+
+        List<Long> ids = new ArrayList<>();
+        for (int t = 0; t < 100; t++) {
+            Book book = TestData.books("short-" + t, 1, category).get(0);
+            Thread thread = new Thread(() -> bookDAO.save(book));
+            thread.start();
+            thread.join();
+            ids.add(book.getId());
+        }
+
+        long calls = prefetcher.getSequenceCalls() - callsBefore;
+        System.out.printf("📊 100 threads x 1 insert: %d chamadas à sequência%n", calls);
+        assertEquals(100, new HashSet<>(ids).size());
+        assertEquals(100, TestData.countBooks());
+        assertTrue(calls <= 3, "Chamadas à sequência: " + calls);
+    }
+
+    private static IdBlockPrefetcher prefetcher(Class<?> entity) {
+        PooledLoSequenceGenerator generator = (PooledLoSequenceGenerator) JPAUtils.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+                .getEntityDescriptor(entity).getGenerator();
+        return generator.getPrefetcher();
+    }
+
+    private static long sequenceIncrement(String sequence) {
+        EntityManager em = JPAUtils.getEntityManager();
+        try {
+            return ((Number) em.createNativeQuery(
+                            "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE UPPER(SEQUENCE_NAME) = ?1")
+                    .setParameter(1, sequence)
+                    .getSingleResult()).longValue();
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.dao.IndexAdvisor;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.JPAUtils;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IndexAdvisor: planos das consultas quentes do BookDAO")
+class IndexAdvisorTest {
+
+    private final BookDAO bookDAO = new BookDAO();
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        category = TestData.category("Indices");
+        bookDAO.saveAll(TestData.books("idx", 2_000, category));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestData.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Finders quentes devem usar índice; só o LIKE com curinga inicial pode varrer a tabela")
+    void hotQueriesShouldUseIndexes() {
+        Book cached = bookDAO.findByIsbn("idx-ISBN-7").orElseThrow();
+        Cache cache = JPAUtils.getEntityManagerFactory().getCache();
+        assertTrue(cache.contains(Book.class, cached.getId()));
+
+        List<IndexAdvisor.Finding> findings = hotQueries().analyze();
+
+        findings.forEach(finding -> System.out.println("📊 " + finding));
+        assertEquals(List.of(), IndexAdvisor.violations(findings));
+        IndexAdvisor.Finding title = findings.stream()
+                .filter(finding -> finding.query().equals("findByTitle")).findFirst().orElseThrow();
+        assertEquals(List.of("book"), title.scannedTables());
+        // A análise não mexe nos caches compartilhados
+        assertTrue(cache.contains(Book.class, cached.getId()));
+    }
+
+    @Test
+    @DisplayName("Sem ix_book_author, findByAuthor deve ser apontado como varredura")
+    void shouldFlagQueryThatLostItsIndex() {
+        execute("DROP INDEX ix_book_author");
+        try {
+            List<IndexAdvisor.Finding> violations = IndexAdvisor.violations(hotQueries().analyze());
+
+            violations.forEach(finding -> System.out.println("📊 " + finding));
+            assertEquals(List.of("findByAuthor", "findSummariesByAuthor"),
+                    violations.stream().map(IndexAdvisor.Finding::query).toList());
+            assertEquals(List.of("book"), violations.get(0).scannedTables());
+        } finally {
+            execute("CREATE INDEX ix_book_author ON book (author)");
+        }
+    }
+
+    // Parâmetros na ordem dos '?' do SQL gerado
+    private IndexAdvisor hotQueries() {
+        LocalDate release = LocalDate.of(2022, 6, 1);
+        return new IndexAdvisor()
+                .expectIndex("findByAuthor", () -> bookDAO.findByAuthor("Author 7"), "Author 7")
+                .expectIndex("findByIsbn", () -> bookDAO.findByIsbn("idx-ISBN-42"), "idx-ISBN-42")
+                .expectIndex("findByRelease", () -> bookDAO.findByRelease(release), release)
+                .expectIndex("findSummariesByAuthor", () -> bookDAO.findSummariesByAuthor("Author 7"), "Author 7")
+                .expectIndex("findSummariesByCategory", () -> bookDAO.findSummariesByCategory(category), category.getId())
+                .allowScan("findByTitle", "LIKE com curinga no início não usa B-tree; busca textual fica com search()",
+                        () -> bookDAO.findByTitle("title 4"), "%title 4%");
+    }
+
+    private static void execute(String sql) {
+        EntityManager em = JPAUtils.getEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.createNativeQuery(sql).executeUpdate();
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+}
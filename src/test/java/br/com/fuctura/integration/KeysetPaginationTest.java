@@ -0,0 +1,100 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.JPAUtils;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GenericDAO Keyset Pagination & Streaming")
+class KeysetPaginationTest {
+
+    private static final int ROWS = 250;
+
+    private BookDAO bookDAO;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        bookDAO = new BookDAO();
+        Category category = TestData.category("Paging");
+        bookDAO.saveAll(TestData.books("paging", ROWS, category));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookDAO.close();
+        TestData.deleteAll();
+    }
+
+    @Test
+    @DisplayName("findPage deve percorrer a tabela inteira em ordem de id sem repetir linhas")
+    void shouldWalkAllPagesInIdOrder() {
+        List<Long> ids = new ArrayList<>();
+        Long afterId = null;
+        List<Book> page;
+        do {
+            page = bookDAO.findPage(afterId, 40);
+            assertTrue(page.size() <= 40);
+            page.forEach(book -> ids.add(book.getId()));
+            afterId = page.isEmpty() ? afterId : page.get(page.size() - 1).getId();
+        } while (!page.isEmpty());
+
+        assertEquals(ROWS, ids.size());
+        assertEquals(ids.stream().sorted().collect(Collectors.toList()), ids, "Páginas devem seguir a ordem da PK");
+        assertEquals(ROWS, ids.stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("streamAll deve entregar todas as linhas e devolver a conexão ao pool ao fechar")
+    void shouldStreamAllRowsAndReleaseConnection() {
+        long count;
+        try (Stream<Book> books = bookDAO.streamAll(30)) {
+            count = books.filter(book -> book.getTitle().startsWith("paging")).count();
+        }
+
+        assertEquals(ROWS, count);
+        assertEquals(0, JPAUtils.getConnectionPoolStats().activeConnections());
+    }
+
+    @Test
+    @DisplayName("Stream fechado antes do fim deve liberar o cursor")
+    void shouldReleaseCursorWhenClosedEarly() {
+        try (Stream<Book> books = bookDAO.streamAll(10)) {
+            assertEquals(5, books.limit(5).count());
+        }
+        assertEquals(0, JPAUtils.getConnectionPoolStats().activeConnections());
+    }
+
+    @Test
+    @DisplayName("Finders do BookDAO devem aceitar paginação e streaming")
+    void shouldPageAndStreamBookFinders() {
+        List<Book> byAuthor = bookDAO.findByAuthor("Author 7");
+        List<Book> firstPage = bookDAO.findByAuthor("Author 7", null, 3);
+        List<Book> secondPage = bookDAO.findByAuthor("Author 7", firstPage.get(2).getId(), 3);
+
+        assertEquals(5, byAuthor.size());
+        assertEquals(3, firstPage.size());
+        assertEquals(2, secondPage.size());
+        assertTrue(secondPage.get(0).getId() > firstPage.get(2).getId());
+
+        try (Stream<Book> titles = bookDAO.streamByTitle("title 1", 7)) {
+            assertEquals(bookDAO.findByTitle("title 1").size(), titles.count());
+        }
+
+        LocalDate cutoff = LocalDate.of(2020, 1, 1);
+        try (Stream<Book> recent = bookDAO.streamByRelease(cutoff, 16)) {
+            assertEquals(bookDAO.findByRelease(cutoff).size(), recent.count());
+        }
+        assertTrue(bookDAO.findByRelease(cutoff, null, 4).stream()
+                .allMatch(book -> book.getReleaseYear().isAfter(cutoff)));
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.loadtest.LibraryDatasetGenerator;
+import br.com.fuctura.loadtest.LoadTestOptions;
+import br.com.fuctura.loadtest.LoadTestReport;
+import br.com.fuctura.loadtest.MixedWorkload;
+import br.com.fuctura.loadtest.Operation;
+import org.junit.jupiter.api.*;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Dataset generator and mixed load-test runner")
+class LoadTestToolTest {
+
+    private final BookDAO bookDAO = new BookDAO();
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestData.deleteAll();
+    }
+
+    @Test
+    @DisplayName("A mesma semente deve gerar o mesmo acervo, com autores populares")
+    void shouldGenerateDeterministicSkewedDataset() {
+        assertEquals(2_000, new LibraryDatasetGenerator(7).generate(10, 2_000, true));
+        Book first = bookDAO.findByIsbn("9780000000123").orElseThrow();
+
+        new LibraryDatasetGenerator(7).generate(10, 2_000, true);
+        Book second = bookDAO.findByIsbn("9780000000123").orElseThrow();
+
+        assertEquals(2_000, TestData.countBooks());
+        assertEquals(first.getTitle(), second.getTitle());
+        assertEquals(first.getAuthor(), second.getAuthor());
+        assertEquals(first.getReleaseYear(), second.getReleaseYear());
+
+        Map<String, Long> booksPerAuthor = bookDAO.findAll().stream()
+                .collect(Collectors.groupingBy(Book::getAuthor, Collectors.counting()));
+        long top = booksPerAuthor.values().stream().mapToLong(Long::longValue).max().orElse(0);
+        System.out.printf("📊 %d autores, o mais popular com %d livros%n", booksPerAuthor.size(), top);
+        assertTrue(top > 2_000 / booksPerAuthor.size() * 5, "Distribuição deve ser enviesada");
+    }
+
+    @Test
+    @DisplayName("Carga mista deve medir todas as operações sem erros")
+    void shouldRunMixedWorkload() throws InterruptedException {
+        new LibraryDatasetGenerator(42).generate(5, 1_000, true);
+        LoadTestOptions options = LoadTestOptions.parse(new String[]{"run", "--threads=4", "--duration=2", "--warmup=0"}, 1);
+
+        LoadTestReport report = new MixedWorkload(options).run();
+        report.print(System.out);
+
+        assertEquals(0, report.totalErrors());
+        for (Operation operation : Operation.values()) {
+            assertTrue(report.count(operation) > 0, "Sem medições para " + operation.label());
+        }
+        assertTrue(report.percentileMillis(Operation.FIND_BY_ID, 99.9) >= report.percentileMillis(Operation.FIND_BY_ID, 50));
+    }
+
+    @Test
+    @DisplayName("Opções inválidas devem ser rejeitadas")
+    void shouldRejectInvalidOptions() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(new String[]{"run", "--threads=0"}, 1));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(new String[]{"run", "--mix=explode:5"}, 1));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(new String[]{"run", "--unknown=1"}, 1));
+        assertEquals(Map.of(Operation.FIND_BY_ID, 1),
+                LoadTestOptions.parse(new String[]{"run", "--mix=findById:1"}, 1).mix());
+    }
+}
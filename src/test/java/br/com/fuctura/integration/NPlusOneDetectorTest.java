@@ -0,0 +1,109 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.dao.UnitOfWork;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.metrics.NPlusOneDetector;
+import br.com.fuctura.metrics.NPlusOneQueryException;
+import br.com.fuctura.util.JPAUtils;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("N+1 query detector")
+class NPlusOneDetectorTest {
+
+    private static final int CATEGORIES = 5;
+
+    private final BookDAO bookDAO = new BookDAO();
+    private final List<Book> books = new ArrayList<>();
+    private NPlusOneDetector.Mode originalMode;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        originalMode = NPlusOneDetector.getMode();
+        for (int i = 0; i < CATEGORIES; i++) {
+            Category category = TestData.category("N+1 " + i);
+            books.add(new Book("Title " + i, "Author", "Synopsis", "nplus-" + i, LocalDate.of(2020, 1, 1), category));
+        }
+        bookDAO.saveAll(books);
+        JPAUtils.getEntityManagerFactory().getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        NPlusOneDetector.setMode(originalMode);
+        TestData.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Modo strict (padrão nos testes) deve falhar quando cada categoria LAZY é carregada com um SELECT")
+    void shouldFailOnLazyCategoryLoadsInStrictMode() {
+        assertEquals(NPlusOneDetector.Mode.STRICT, NPlusOneDetector.getMode());
+
+        NPlusOneQueryException error = assertThrows(NPlusOneQueryException.class, this::readCategoryNamesOneByOne);
+
+        System.out.println("📊 " + error.getMessage());
+        assertTrue(error.getMessage().contains("UnitOfWork"));
+        assertTrue(error.getMessage().contains("from category"));
+    }
+
+    @Test
+    @DisplayName("findAll com ou sem WITH_CATEGORY não deve disparar SELECTs por categoria")
+    void shouldNotFlagFetchPlans() {
+        assertEquals(CATEGORIES, bookDAO.findAll().size());
+        assertTrue(bookDAO.findAll(BookDAO.WITH_CATEGORY).stream().allMatch(book -> book.getCategoryName() != null));
+    }
+
+    @Test
+    @DisplayName("Modo log deve apenas registrar a violação")
+    void shouldOnlyRecordInLogMode() {
+        NPlusOneDetector.setMode(NPlusOneDetector.Mode.LOG);
+        long before = NPlusOneDetector.violationCount();
+
+        assertEquals(CATEGORIES, readCategoryNamesOneByOne().size());
+
+        assertEquals(before + 1, NPlusOneDetector.violationCount());
+        NPlusOneDetector.Violation violation = NPlusOneDetector.recentViolations()
+                .get(NPlusOneDetector.recentViolations().size() - 1);
+        assertEquals(CATEGORIES, violation.executions());
+        assertEquals(CATEGORIES + 1, violation.statements());
+    }
+
+    @Test
+    @DisplayName("Buscas repetidas dentro de uma UnitOfWork devem ser detectadas no escopo da unidade")
+    void shouldDetectRepeatedLookupsInsideUnitOfWork() {
+        NPlusOneQueryException error = assertThrows(NPlusOneQueryException.class, () -> UnitOfWork.readOnly(() -> {
+            books.forEach(book -> bookDAO.findByIsbn(book.getIsbn()));
+            return null;
+        }));
+        assertTrue(error.getMessage().contains("UnitOfWork"));
+    }
+
+    @Test
+    @DisplayName("Inserts em lote e operações sem repetição não devem ser acusados")
+    void shouldIgnoreBatchInsertsAndSingleLookups() {
+        Category category = TestData.category("Batch");
+        long before = NPlusOneDetector.violationCount();
+
+        bookDAO.saveAll(TestData.books("batch", 500, category));
+        bookDAO.findById(books.get(0).getId());
+        bookDAO.findByAuthor("Author 1");
+
+        NPlusOneDetector.setMode(NPlusOneDetector.Mode.OFF);
+        assertEquals(CATEGORIES + 500, bookDAO.findAll().size());
+        assertEquals(before, NPlusOneDetector.violationCount());
+    }
+
+    // Acessa a categoria LAZY de cada livro dentro da unidade: um SELECT por categoria
+    private List<String> readCategoryNamesOneByOne() {
+        return UnitOfWork.readOnly(() -> bookDAO.findAll().stream().map(Book::getCategoryName).collect(Collectors.toList()));
+    }
+}
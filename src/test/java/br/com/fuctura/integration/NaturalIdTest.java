@@ -0,0 +1,83 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.JPAUtils;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Book ISBN Natural-Id Lookups")
+class NaturalIdTest {
+
+    private BookDAO bookDAO;
+    private Category category;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        bookDAO = new BookDAO();
+        category = TestData.category("Natural Id");
+        bookDAO.saveAll(TestData.books("nid", 30, category));
+        statistics = JPAUtils.getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookDAO.close();
+        TestData.deleteAll();
+    }
+
+    @Test
+    @DisplayName("findByIsbn deve resolver pelo cache de natural id sem ir ao banco")
+    void shouldResolveIsbnFromNaturalIdCache() {
+        assertEquals("nid title 7", bookDAO.findByIsbn("nid-ISBN-7").orElseThrow().getTitle());
+
+        statistics.clear();
+        for (int i = 0; i < 5; i++) {
+            assertEquals("nid title 7", bookDAO.findByIsbn(" nid-ISBN-7 ").orElseThrow().getTitle());
+        }
+
+        assertEquals(0, statistics.getPrepareStatementCount(), "Lookups repetidos devem vir do cache");
+        assertEquals(5, statistics.getNaturalIdCacheHitCount());
+        assertTrue(bookDAO.findByIsbn("does-not-exist").isEmpty());
+    }
+
+    @Test
+    @DisplayName("findByIsbns deve carregar vários ISBNs e ignorar os inexistentes")
+    void shouldMultiLoadByIsbns() {
+        List<Book> books = bookDAO.findByIsbns(List.of("nid-ISBN-1", "nid-ISBN-2", "missing", "nid-ISBN-29"));
+
+        Set<String> isbns = books.stream().map(Book::getIsbn).collect(Collectors.toSet());
+        assertEquals(Set.of("nid-ISBN-1", "nid-ISBN-2", "nid-ISBN-29"), isbns);
+        assertTrue(bookDAO.findByIsbns(List.of()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("ISBN duplicado deve ser rejeitado pelo índice único")
+    void shouldRejectDuplicateIsbn() {
+        Book duplicate = new Book("Duplicate", "Author", "Synopsis", "nid-ISBN-3", LocalDate.of(2020, 1, 1), category);
+
+        assertThrows(RuntimeException.class, () -> bookDAO.save(duplicate));
+        assertEquals(30, TestData.countBooks());
+    }
+
+    @Test
+    @DisplayName("Alterar o ISBN deve atualizar a resolução do natural id")
+    void shouldFollowIsbnChanges() {
+        Book book = bookDAO.findByIsbn("nid-ISBN-5").orElseThrow();
+        book.setIsbn("nid-ISBN-5-rev");
+        bookDAO.update(book);
+
+        assertTrue(bookDAO.findByIsbn("nid-ISBN-5").isEmpty());
+        assertEquals(book.getId(), bookDAO.findByIsbn("nid-ISBN-5-rev").orElseThrow().getId());
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.dto.BookSummary;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.JPAUtils;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("BookSummary projection queries")
+class ProjectionQueryTest {
+
+    private final BookDAO bookDAO = new BookDAO();
+    private Category category;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        category = TestData.category("Projection");
+        statistics = JPAUtils.getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestData.deleteAll();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Projeções devem trazer os campos da listagem em um SELECT, sem carregar entidades")
+    void shouldProjectWithoutLoadingEntities() {
+        bookDAO.saveAll(TestData.books("proj", 30, category));
+        bookDAO.save(new Book("Sem categoria", "Author 1", "Synopsis", "proj-orphan", LocalDate.of(2023, 5, 1), null));
+        statistics.clear();
+
+        List<BookSummary> byAuthor = bookDAO.findSummariesByAuthor(" Author 1 ");
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount(), "Projeção não deve materializar entidades");
+        assertEquals(2, byAuthor.size());
+        BookSummary first = byAuthor.get(0);
+        assertEquals("proj title 1", first.title());
+        assertEquals("Projection", first.categoryName());
+        assertEquals(LocalDate.of(2001, 1, 1), first.releaseYear());
+        assertNull(byAuthor.get(1).categoryName(), "LEFT JOIN mantém livros sem categoria");
+
+        assertEquals(31, bookDAO.findAllSummaries().size());
+        assertEquals(11, bookDAO.findSummariesByTitle("proj title 1").size());
+        assertEquals(7, bookDAO.findSummariesByRelease(LocalDate.of(2017, 1, 1)).size());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Benchmark: entidades com categoria vs BookSummary em 10.000 livros")
+    void benchmarkProjectionAgainstEntities() {
+        bookDAO.saveAll(TestData.books("bench", 10_000, category));
+        JPAUtils.getEntityManagerFactory().getCache().evictAll();
+
+        for (int i = 0; i < 3; i++) {
+            bookDAO.findAll(BookDAO.WITH_CATEGORY);
+            bookDAO.findAllSummaries();
+        }
+        long[] entities = measure(() -> bookDAO.findAll(BookDAO.WITH_CATEGORY));
+        long[] summaries = measure(bookDAO::findAllSummaries);
+
+        System.out.printf("📊 Entidades: %.1fms, %.1fMB alocados%n", entities[0] / 1e6, entities[1] / 1e6);
+        System.out.printf("📊 BookSummary: %.1fms, %.1fMB alocados%n", summaries[0] / 1e6, summaries[1] / 1e6);
+        assertTrue(summaries[1] < entities[1], "Projeção deve alocar menos que entidades gerenciadas");
+    }
+
+    // {nanos, bytes alocados pela thread} da média de 5 execuções
+    private static long[] measure(Supplier<List<?>> query) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long bytesBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(10_000, query.get().size());
+        }
+        return new long[]{(System.nanoTime() - start) / 5, (threads.getThreadAllocatedBytes(thread) - bytesBefore) / 5};
+    }
+}
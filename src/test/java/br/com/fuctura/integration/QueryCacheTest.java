@@ -0,0 +1,111 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.JPAUtils;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BookDAO Query-Result Cache")
+class QueryCacheTest {
+
+    private BookDAO bookDAO;
+    private Category category;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        bookDAO = new BookDAO();
+        category = TestData.category("Query Cache");
+        bookDAO.saveAll(TestData.books("qc", 100, category));
+        JPAUtils.getEntityManagerFactory().getCache().evictAll();
+        statistics = JPAUtils.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookDAO.close();
+        TestData.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Chamadas repetidas (com parâmetros normalizados) devem ser servidas pelo cache")
+    void shouldServeRepeatedFinderCallsFromCache() {
+        assertEquals(2, bookDAO.findByAuthor("Author 3").size());
+        long statementsAfterFirstCall = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(2, bookDAO.findByAuthor("  Author 3 ").size());
+        }
+
+        CacheRegionStatistics region = bookDAO.getQueryCacheStatistics(BookDAO.FIND_BY_AUTHOR);
+        System.out.printf("📊 book-by-author: hits=%d, misses=%d, puts=%d%n",
+                region.getHitCount(), region.getMissCount(), region.getPutCount());
+
+        assertEquals(1, region.getMissCount());
+        assertEquals(5, region.getHitCount());
+        assertEquals(statementsAfterFirstCall, statistics.getPrepareStatementCount(),
+                "Consultas em cache não devem ir ao banco");
+    }
+
+    @Test
+    @DisplayName("Todas as variantes do finder devem aplicar a mesma normalização ao parâmetro")
+    void shouldNormalizeInEveryFinderVariant() {
+        assertEquals(2, bookDAO.findByAuthor(" Author 3 ").size());
+        assertEquals(2, bookDAO.findByAuthor(" Author 3 ", null, 10).size());
+        assertEquals(2, bookDAO.findSummariesByAuthor(" Author 3 ").size());
+        try (var books = bookDAO.streamByAuthor(" Author 3 ", 10)) {
+            assertEquals(2, books.count());
+        }
+
+        assertEquals(1, bookDAO.findByTitle(" qc title 42 ").size());
+        assertEquals(1, bookDAO.findByTitle(" qc title 42 ", null, 10).size());
+        try (var books = bookDAO.streamByTitle(" qc title 42 ", 10)) {
+            assertEquals(1, books.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Escrita na tabela book deve invalidar os resultados em cache")
+    void shouldInvalidateWhenBookTableChanges() {
+        assertEquals(100, bookDAO.findByTitle("qc title").size());
+        assertEquals(100, bookDAO.findByTitle("qc title").size());
+
+        bookDAO.save(new Book("qc title extra", "Author 3", "Synopsis", "qc-ISBN-extra", LocalDate.of(2024, 1, 1), category));
+
+        assertEquals(101, bookDAO.findByTitle("qc title").size(), "Resultado deve refletir o novo livro");
+        CacheRegionStatistics region = bookDAO.getQueryCacheStatistics(BookDAO.FIND_BY_TITLE);
+        assertEquals(1, region.getHitCount());
+        assertEquals(2, region.getPutCount());
+    }
+
+    @Test
+    @DisplayName("Escrita em outra tabela não deve invalidar os finders de book")
+    void shouldNotInvalidateOnUnrelatedWrites() {
+        bookDAO.findByAuthor("Author 10");
+        TestData.category("Unrelated");
+        bookDAO.findByAuthor("Author 10");
+
+        assertEquals(1, bookDAO.getQueryCacheStatistics(BookDAO.FIND_BY_AUTHOR).getHitCount());
+    }
+
+    @Test
+    @DisplayName("Finder com cache desligado no db.properties não deve usar a região")
+    void shouldHonourPerFinderConfiguration() {
+        assertFalse(JPAUtils.isQueryCacheEnabled(BookDAO.FIND_BY_RELEASE));
+
+        bookDAO.findByRelease(LocalDate.of(2010, 1, 1));
+        bookDAO.findByRelease(LocalDate.of(2010, 1, 1));
+
+        CacheRegionStatistics region = bookDAO.getQueryCacheStatistics(BookDAO.FIND_BY_RELEASE);
+        assertTrue(region == null || region.getPutCount() == 0, "Região não deve receber resultados");
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.dao.FetchPlan;
+import br.com.fuctura.dao.UnitOfWork;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.metrics.NPlusOneDetector;
+import br.com.fuctura.util.JPAUtils;
+import br.com.fuctura.util.ReadOnlyConnections;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Read-only persistence contexts and connections")
+class ReadOnlyModeTest {
+
+    private final BookDAO bookDAO = new BookDAO();
+    private Category category;
+    private NPlusOneDetector.Mode originalMode;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        category = TestData.category("Read Only");
+        originalMode = NPlusOneDetector.getMode();
+    }
+
+    @AfterEach
+    void tearDown() {
+        NPlusOneDetector.setMode(originalMode);
+        TestData.deleteAll();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Unidade somente leitura deve pedir conexões read-only apenas durante a unidade")
+    void shouldRequestReadOnlyConnectionsOnlyInsideReadOnlyUnits() {
+        assertTrue(UnitOfWork.readOnly(ReadOnlyConnections::isRequested));
+        assertFalse(UnitOfWork.inTransaction(ReadOnlyConnections::isRequested));
+        assertFalse(ReadOnlyConnections.isRequested());
+        // A conexão volta ao pool e é reutilizada normalmente por uma escrita
+        UnitOfWork.readOnly(() -> bookDAO.findAll());
+        assertDoesNotThrow(() -> bookDAO.save(TestData.books("after", 1, category).get(0)));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Unidade somente leitura não deve fazer flush de alterações antes das consultas")
+    void shouldNotFlushInsideReadOnlyUnit() {
+        bookDAO.saveAll(TestData.books("ro", 10, category));
+
+        int visibleInReadOnly = UnitOfWork.readOnly(() -> renameAndSearch("ro-ISBN-1", "renamed in read-only"));
+        int visibleInTransaction = UnitOfWork.inTransaction(() -> renameAndSearch("ro-ISBN-2", "renamed in transaction"));
+
+        assertEquals(0, visibleInReadOnly, "Entidade read-only: alteração não é vista pelo banco");
+        assertEquals(1, visibleInTransaction, "Unidade de escrita faz flush automático antes da consulta");
+        assertEquals("ro title 1", bookDAO.findByIsbn("ro-ISBN-1").orElseThrow().getTitle());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("FetchPlan.readOnly() vale só para a chamada; leituras comuns seguem gravando alterações")
+    void shouldApplyReadOnlyPerCall() {
+        bookDAO.saveAll(TestData.books("call", 3, category));
+        Long id = bookDAO.findByIsbn("call-ISBN-0").orElseThrow().getId();
+
+        UnitOfWork.inTransaction(() -> {
+            bookDAO.findById(id, FetchPlan.READ_ONLY).orElseThrow().setTitle("ignored by id");
+            bookDAO.findByAuthor("Author 1", BookDAO.WITH_CATEGORY.readOnly()).get(0).setTitle("ignored by author");
+            bookDAO.findByAuthor("Author 2").get(0).setTitle("saved");
+            return null;
+        });
+
+        assertEquals("call title 0", bookDAO.findById(id).orElseThrow().getTitle());
+        assertEquals("call title 1", bookDAO.findByIsbn("call-ISBN-1").orElseThrow().getTitle());
+        assertEquals("saved", bookDAO.findByIsbn("call-ISBN-2").orElseThrow().getTitle());
+        assertFalse(ReadOnlyConnections.isRequested());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Benchmark: 5.000 livros + 50 consultas em unidade de escrita vs somente leitura")
+    void benchmarkReadOnlyUnit() {
+        bookDAO.saveAll(TestData.books("bench", 5_000, category));
+        JPAUtils.getEntityManagerFactory().getCache().evictAll();
+        // 50 consultas parecidas na mesma unidade são intencionais aqui
+        NPlusOneDetector.setMode(NPlusOneDetector.Mode.OFF);
+        for (int i = 0; i < 2; i++) {
+            UnitOfWork.inTransaction(this::loadAndQuery);
+            UnitOfWork.readOnly(this::loadAndQuery);
+        }
+
+        long[] readWrite = measure(() -> UnitOfWork.inTransaction(this::loadAndQuery));
+        long[] readOnly = measure(() -> UnitOfWork.readOnly(this::loadAndQuery));
+
+        System.out.printf("📊 Unidade de escrita: %.1fms, %.1fMB alocados, %d flushes%n",
+                readWrite[0] / 1e6, readWrite[1] / 1e6, readWrite[2]);
+        System.out.printf("📊 Somente leitura:    %.1fms, %.1fMB alocados, %d flushes%n",
+                readOnly[0] / 1e6, readOnly[1] / 1e6, readOnly[2]);
+        // Tempo de uma única medição oscila com a carga da máquina: a comparação usa flushes e bytes alocados
+        assertEquals(0, readOnly[2], "Unidade somente leitura não faz flush");
+        assertTrue(readWrite[2] > 0);
+        assertTrue(readOnly[1] < readWrite[1], "Sem snapshots de dirty-checking a unidade deve alocar menos");
+    }
+
+    private int renameAndSearch(String isbn, String newTitle) {
+        Book book = bookDAO.findByIsbn(isbn).orElseThrow();
+        book.setTitle(newTitle);
+        return bookDAO.findSummariesByTitle(newTitle).size();
+    }
+
+    private Integer loadAndQuery() {
+        List<Book> books = bookDAO.findAll();
+        int found = 0;
+        for (int i = 0; i < 50; i++) {
+            found += bookDAO.findSummariesByAuthor("Author " + i).size();
+        }
+        assertEquals(5_000, books.size());
+        return found;
+    }
+
+    // {nanos, bytes alocados pela thread, flushes do Hibernate}
+    private static long[] measure(Supplier<Integer> work) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Statistics statistics = JPAUtils.getStatistics();
+        long thread = Thread.currentThread().getId();
+        long flushesBefore = statistics.getFlushCount();
+        long bytesBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        assertEquals(5_000, work.get());
+        return new long[]{System.nanoTime() - start, threads.getThreadAllocatedBytes(thread) - bytesBefore,
+                statistics.getFlushCount() - flushesBefore};
+    }
+}
@@ -0,0 +1,219 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.dao.FetchPlan;
+import br.com.fuctura.dao.UnitOfWork;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.JPAUtils;
+import br.com.fuctura.util.ReplicaStats;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Primário e réplicas são bancos H2 separados (db-replica.properties); replicate() copia o primário para as réplicas
+@DisplayName("Read/write splitting entre primário e réplicas")
+class ReplicaRoutingTest {
+
+    private static final String PRIMARY = "jdbc:h2:mem:primarydb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+    private static final List<String> REPLICAS = List.of(
+            "jdbc:h2:mem:replicadb1;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+            "jdbc:h2:mem:replicadb2;DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+    // replica.readYourWritesMs do db-replica.properties, com folga
+    private static final long READ_YOUR_WRITES_MS = 300 + 100;
+
+    @TempDir
+    static Path directory;
+
+    private final BookDAO bookDAO = new BookDAO();
+    private Category category;
+
+    @BeforeAll
+    static void useReplicaConfiguration() {
+        JPAUtils.closeEntityManagerFactory();
+        System.setProperty("db.config", "db-replica.properties");
+        JPAUtils.getEntityManagerFactory();
+    }
+
+    @AfterAll
+    static void restoreConfiguration() {
+        JPAUtils.closeEntityManagerFactory();
+        System.clearProperty("db.config");
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestData.deleteAll();
+        category = TestData.category("Replica");
+        replicate();
+        Thread.sleep(READ_YOUR_WRITES_MS);
+    }
+
+    @Test
+    @DisplayName("Leitura após escrita vai ao primário; depois da janela, à réplica (atrasada até replicar)")
+    void shouldReadYourWritesThenUseReplicas() throws Exception {
+        Book book = bookDAO.save(newBook("ryw-1"));
+
+        assertTrue(UnitOfWork.readOnly(() -> bookDAO.existsById(book.getId())), "Logo após a escrita a thread lê do primário");
+        Thread.sleep(READ_YOUR_WRITES_MS);
+        long primaryReads = JPAUtils.getPrimaryReads();
+        assertFalse(UnitOfWork.readOnly(() -> bookDAO.existsById(book.getId())), "Réplica ainda não recebeu a escrita");
+        assertEquals(primaryReads, JPAUtils.getPrimaryReads());
+
+        replicate();
+        assertTrue(UnitOfWork.readOnly(() -> bookDAO.existsById(book.getId())));
+        assertEquals("ryw-1", UnitOfWork.readOnly(() -> bookDAO.findByIsbn("ryw-1")).orElseThrow().getIsbn());
+    }
+
+    @Test
+    @DisplayName("Leituras sem modo somente leitura continuam no primário")
+    void shouldKeepDefaultReadsOnPrimary() throws Exception {
+        Book book = bookDAO.save(newBook("default-1"));
+        Thread.sleep(READ_YOUR_WRITES_MS);
+        long replicaConnections = replicaConnections();
+
+        assertTrue(bookDAO.existsById(book.getId()), "Réplica não tem o livro: a leitura foi ao primário");
+        assertEquals(1, bookDAO.findByAuthor("Replica Author").size());
+        assertEquals(replicaConnections, replicaConnections());
+    }
+
+    @Test
+    @DisplayName("Escrita e leitura na mesma UnitOfWork usam a conexão do primário")
+    void shouldKeepUnitOfWorkOnPrimary() {
+        boolean seenInsideUnit = UnitOfWork.inTransaction(() -> {
+            Book book = bookDAO.save(newBook("uow-1"));
+            return bookDAO.existsById(book.getId()) && bookDAO.findByAuthor("Replica Author").size() == 1;
+        });
+        assertTrue(seenInsideUnit);
+        assertEquals(1, TestData.countBooks(), "Commit no primário");
+    }
+
+    @Test
+    @DisplayName("Finders somente leitura devem ser distribuídos em round-robin entre as réplicas")
+    void shouldBalanceReadsAcrossReplicas() throws Exception {
+        bookDAO.saveAll(TestData.books("rr", 200, category));
+        replicate();
+        Thread.sleep(READ_YOUR_WRITES_MS);
+        List<ReplicaStats> before = JPAUtils.getReplicaStats();
+        long primaryReads = JPAUtils.getPrimaryReads();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, bookDAO.findAll(FetchPlan.READ_ONLY).size());
+            assertEquals(4, bookDAO.findByAuthor("Author " + i, FetchPlan.READ_ONLY).size());
+            assertEquals(200, UnitOfWork.readOnly(() -> bookDAO.findByTitle("rr title").size()));
+            assertEquals(200, UnitOfWork.readOnly(() -> {
+                try (var books = bookDAO.streamAll(50)) {
+                    return books.count();
+                }
+            }));
+        }
+
+        List<ReplicaStats> after = JPAUtils.getReplicaStats();
+        after.forEach(stats -> System.out.println("📊 " + stats));
+        System.out.println("📊 Leituras no primário: " + (JPAUtils.getPrimaryReads() - primaryReads));
+        assertEquals(2, after.size());
+        for (int i = 0; i < after.size(); i++) {
+            // 5 conexões por volta: a unidade do stream usa a sua e a do cursor
+            assertEquals(25, after.get(i).connections() - before.get(i).connections(), after.get(i).name());
+            assertEquals(0, after.get(i).failures());
+        }
+        assertEquals(primaryReads, JPAUtils.getPrimaryReads(), "Nenhuma leitura deve cair no primário");
+    }
+
+    @Test
+    @DisplayName("Leituras em réplica atrasada consultam os caches mas não gravam neles")
+    void shouldNotCacheReplicaResults() throws Exception {
+        Book first = bookDAO.save(newBook("lag-1"));
+        replicate();
+        bookDAO.save(newBook("lag-2"));
+        Thread.sleep(READ_YOUR_WRITES_MS);
+        JPAUtils.getEntityManagerFactory().getCache().evictAll();
+        Statistics statistics = JPAUtils.getStatistics();
+        long puts = statistics.getSecondLevelCachePutCount() + statistics.getNaturalIdCachePutCount();
+        long queryPuts = queryCachePuts();
+        long primaryReads = JPAUtils.getPrimaryReads();
+
+        assertEquals(1, bookDAO.findByAuthor("Replica Author", FetchPlan.READ_ONLY).size(), "Réplica ainda sem lag-2");
+        assertTrue(bookDAO.findById(first.getId(), FetchPlan.READ_ONLY).isPresent());
+        assertTrue(UnitOfWork.readOnly(() -> bookDAO.findByIsbn("lag-1")).isPresent());
+
+        assertEquals(primaryReads, JPAUtils.getPrimaryReads(), "As leituras foram às réplicas");
+        assertEquals(puts, statistics.getSecondLevelCachePutCount() + statistics.getNaturalIdCachePutCount());
+        assertEquals(queryPuts, queryCachePuts());
+        assertEquals(2, bookDAO.findByAuthor("Replica Author").size(), "Primário não recebe o resultado antigo do cache");
+        replicate();
+        assertEquals(2, bookDAO.findByAuthor("Replica Author", FetchPlan.READ_ONLY).size());
+    }
+
+    @Test
+    @DisplayName("Com réplicas, leituras no primário (comuns ou em read-your-writes) continuam usando os caches")
+    void shouldKeepCachingPrimaryReads() {
+        Book book = bookDAO.save(newBook("cache-1"));
+        JPAUtils.getEntityManagerFactory().getCache().evictAll();
+        Statistics statistics = JPAUtils.getStatistics();
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long queryHits = queryCacheHits();
+
+        bookDAO.findById(book.getId());
+        bookDAO.findById(book.getId());
+        bookDAO.findByAuthor("Replica Author");
+        bookDAO.findByAuthor("Replica Author");
+
+        assertTrue(statistics.getSecondLevelCacheHitCount() > hits, "findById deve vir do cache de segundo nível");
+        assertTrue(queryCacheHits() > queryHits, "findByAuthor deve vir do cache de consultas");
+
+        // Na janela de read-your-writes a leitura somente leitura vai ao primário e também grava no cache
+        bookDAO.save(newBook("cache-2"));
+        long primaryReads = JPAUtils.getPrimaryReads();
+        queryHits = queryCacheHits();
+        assertEquals(2, bookDAO.findByAuthor("Replica Author", FetchPlan.READ_ONLY).size());
+        assertEquals(2, bookDAO.findByAuthor("Replica Author", FetchPlan.READ_ONLY).size());
+        assertEquals(primaryReads + 1, JPAUtils.getPrimaryReads());
+        assertEquals(queryHits + 1, queryCacheHits());
+    }
+
+    private static long replicaConnections() {
+        return JPAUtils.getReplicaStats().stream().mapToLong(ReplicaStats::connections).sum();
+    }
+
+    private long queryCachePuts() {
+        CacheRegionStatistics region = bookDAO.getQueryCacheStatistics(BookDAO.FIND_BY_AUTHOR);
+        return region != null ? region.getPutCount() : 0;
+    }
+
+    private long queryCacheHits() {
+        CacheRegionStatistics region = bookDAO.getQueryCacheStatistics(BookDAO.FIND_BY_AUTHOR);
+        return region != null ? region.getHitCount() : 0;
+    }
+
+    private Book newBook(String isbn) {
+        return new Book("Replica " + isbn, "Replica Author", "Sinopse", isbn, LocalDate.of(2021, 1, 1), category);
+    }
+
+    // Replicação simulada: copia o primário inteiro para cada réplica
+    private static void replicate() throws SQLException {
+        String script = directory.resolve("primary.sql").toString().replace('\\', '/');
+        try (Connection primary = DriverManager.getConnection(PRIMARY, "sa", "");
+             Statement statement = primary.createStatement()) {
+            statement.execute("SCRIPT TO '" + script + "'");
+        }
+        for (String url : REPLICAS) {
+            try (Connection replica = DriverManager.getConnection(url, "sa", "");
+                 Statement statement = replica.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+                statement.execute("RUNSCRIPT FROM '" + script + "'");
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.JPAUtils;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("GenericDAO.saveAll Benchmark (H2)")
+class SaveAllBenchmarkTest {
+
+    private static final int ROWS = 2_000;
+
+    private BookDAO bookDAO;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        bookDAO = new BookDAO();
+        category = TestData.category("Benchmark");
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookDAO.close();
+        TestData.deleteAll();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("saveAll deve persistir coleções e streams atribuindo ids")
+    void shouldPersistCollectionAndStream() {
+        List<Book> books = newBooks("collection", 120);
+
+        assertEquals(120, bookDAO.saveAll(books));
+        assertTrue(books.stream().allMatch(book -> book.getId() != null), "persist deve atribuir ids às instâncias");
+
+        assertEquals(75, bookDAO.saveAll(newBooks("stream", 75).stream()));
+        assertEquals(195, TestData.countBooks());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("saveAll deve atualizar entidades já existentes via merge")
+    void shouldMergeExistingEntities() {
+        List<Book> books = newBooks("merge", 10);
+        bookDAO.saveAll(books);
+
+        books.forEach(book -> book.setTitle(book.getTitle() + " (2ª edição)"));
+        assertEquals(10, bookDAO.saveAll(books));
+
+        assertEquals(10, TestData.countBooks());
+        assertTrue(bookDAO.findAll().stream().allMatch(book -> book.getTitle().endsWith("(2ª edição)")));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Benchmark: saveAll vs loop de save")
+    void benchmarkSaveAllAgainstSaveLoop() {
+        // Aquecimento para não medir a inicialização do Hibernate/JIT
+        newBooks("warmup", 200).forEach(bookDAO::save);
+        bookDAO.saveAll(newBooks("warmup-batch", 200));
+
+        List<Book> loopBooks = newBooks("loop", ROWS);
+        long start = System.nanoTime();
+        loopBooks.forEach(bookDAO::save);
+        double loopRowsPerSec = rowsPerSecond(ROWS, System.nanoTime() - start);
+
+        List<Book> batchBooks = newBooks("batch", ROWS);
+        start = System.nanoTime();
+        long saved = bookDAO.saveAll(batchBooks);
+        double batchRowsPerSec = rowsPerSecond(ROWS, System.nanoTime() - start);
+
+        System.out.printf("📊 save() em loop: %.0f linhas/s%n", loopRowsPerSec);
+        System.out.printf("📊 saveAll(): %.0f linhas/s (batch_size=%d, commit_size=%d)%n",
+                batchRowsPerSec, JPAUtils.getBatchSize(), JPAUtils.getCommitSize());
+        System.out.printf("📊 Ganho: %.1fx%n", batchRowsPerSec / loopRowsPerSec);
+
+        assertEquals(ROWS, saved);
+        assertEquals(2L * ROWS + 400, TestData.countBooks());
+    }
+
+    private List<Book> newBooks(String prefix, int count) {
+        return TestData.books(prefix, count, category);
+    }
+
+    private static double rowsPerSecond(int rows, long nanos) {
+        return rows / (nanos / 1_000_000_000.0);
+    }
+}
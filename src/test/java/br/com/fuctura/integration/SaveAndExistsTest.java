@@ -0,0 +1,97 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.JPAUtils;
+import jakarta.persistence.EntityManager;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("save (persist vs merge) and existsById round trips")
+class SaveAndExistsTest {
+
+    private final BookDAO bookDAO = new BookDAO();
+    private Category category;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        category = TestData.category("Save");
+        JPAUtils.getEntityManagerFactory().getCache().evictAll();
+        statistics = JPAUtils.getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestData.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Livro novo deve ser inserido sem SELECT prévio e a própria instância deve receber o id")
+    void shouldPersistNewEntitiesWithoutSelect() {
+        List<Book> merged = TestData.books("merge", 20, category);
+        List<Book> persisted = TestData.books("persist", 20, category);
+
+        statistics.clear();
+        merged.forEach(SaveAndExistsTest::mergeInOwnTransaction);
+        long mergeStatements = statistics.getPrepareStatementCount();
+
+        JPAUtils.getEntityManagerFactory().getCache().evictAll();
+        statistics.clear();
+        for (Book book : persisted) {
+            assertSame(book, bookDAO.save(book));
+            assertNotNull(book.getId());
+        }
+        long saveStatements = statistics.getPrepareStatementCount();
+
+        System.out.printf("📊 merge: %d statements, save: %d statements (20 livros)%n", mergeStatements, saveStatements);
+        assertEquals(0, statistics.getEntityLoadCount(), "persist não deve carregar a categoria");
+        assertTrue(saveStatements < mergeStatements);
+        assertEquals(40, TestData.countBooks());
+    }
+
+    @Test
+    @DisplayName("Livro existente continua sendo atualizado por merge")
+    void shouldMergeDetachedEntities() {
+        Book book = bookDAO.save(TestData.books("update", 1, category).get(0));
+        book.setTitle("updated title");
+
+        Book updated = bookDAO.save(book);
+
+        assertEquals(book.getId(), updated.getId());
+        assertEquals("updated title", bookDAO.findById(book.getId()).orElseThrow().getTitle());
+        assertEquals(1, TestData.countBooks());
+    }
+
+    @Test
+    @DisplayName("existsById deve fazer um único SELECT 1, sem materializar a entidade")
+    void shouldCheckExistenceWithoutLoadingEntity() {
+        Book book = bookDAO.save(TestData.books("exists", 1, category).get(0));
+        JPAUtils.getEntityManagerFactory().getCache().evictAll();
+        statistics.clear();
+
+        assertTrue(bookDAO.existsById(book.getId()));
+        assertFalse(bookDAO.existsById(book.getId() + 1_000));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    // Caminho antigo do save: merge de uma entidade nova
+    private static void mergeInOwnTransaction(Book book) {
+        EntityManager em = JPAUtils.getEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.merge(book);
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.dao.CategoryDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.JPAUtils;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Second-Level Cache (Ehcache/JCache)")
+class SecondLevelCacheTest {
+
+    private CategoryDAO categoryDAO;
+    private BookDAO bookDAO;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        categoryDAO = new CategoryDAO();
+        bookDAO = new BookDAO();
+        statistics = JPAUtils.getStatistics();
+        assertTrue(statistics.isStatisticsEnabled(), "hibernate.generate_statistics deve estar ativo nos testes");
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryDAO.close();
+        bookDAO.close();
+        TestData.deleteAll();
+    }
+
+    @Test
+    @DisplayName("findById de Category deve ser servido pelo cache após a primeira leitura")
+    void shouldServeCategoryByIdFromCache() {
+        Category category = TestData.category("Cached");
+        JPAUtils.getEntityManagerFactory().getCache().evictAll();
+        statistics.clear();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Cached", categoryDAO.findById(category.getId()).orElseThrow().getName());
+        }
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics("category");
+        double hitRatio = region.getHitCount() / (double) (region.getHitCount() + region.getMissCount());
+        System.out.printf("📊 category: hits=%d, misses=%d, puts=%d, ratio=%.2f%n",
+                region.getHitCount(), region.getMissCount(), region.getPutCount(), hitRatio);
+
+        assertEquals(1, region.getMissCount());
+        assertEquals(9, region.getHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount(), "Apenas a primeira leitura deve ir ao banco");
+    }
+
+    @Test
+    @DisplayName("Carregar livros deve reaproveitar categorias e livros em cache")
+    void shouldServeBooksAndTheirCategoriesFromCache() {
+        Category category = TestData.category("Shared");
+        List<Book> books = TestData.books("cached", 20, category);
+        bookDAO.saveAll(books);
+        JPAUtils.getEntityManagerFactory().getCache().evictAll();
+        statistics.clear();
+
+        for (int round = 0; round < 5; round++) {
+            for (Book book : books) {
+                Book loaded = bookDAO.findById(book.getId(), BookDAO.WITH_CATEGORY).orElseThrow();
+                assertEquals("Shared", loaded.getCategoryName());
+            }
+        }
+
+        CacheRegionStatistics bookRegion = statistics.getDomainDataRegionStatistics("book");
+        double bookHitRatio = bookRegion.getHitCount() / (double) (bookRegion.getHitCount() + bookRegion.getMissCount());
+        System.out.printf("📊 book: hits=%d, misses=%d, ratio=%.2f%n",
+                bookRegion.getHitCount(), bookRegion.getMissCount(), bookHitRatio);
+
+        assertEquals(20, bookRegion.getMissCount());
+        assertTrue(bookHitRatio >= 0.8, "Taxa de acerto esperada >= 80%, obtida " + bookHitRatio);
+        assertTrue(statistics.getDomainDataRegionStatistics("category").getHitCount() > 0,
+                "Categorias dos livros em cache devem vir do cache");
+    }
+
+    @Test
+    @DisplayName("Atualização deve refletir no cache (READ_WRITE)")
+    void shouldRefreshCacheOnUpdate() {
+        Category category = TestData.category("Before");
+        categoryDAO.findById(category.getId());
+
+        category.setName("After");
+        categoryDAO.update(category);
+
+        assertEquals("After", categoryDAO.findById(category.getId()).orElseThrow().getName());
+    }
+}
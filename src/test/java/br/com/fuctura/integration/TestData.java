@@ -0,0 +1,60 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.CategoryDAO;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.search.InMemoryBookIndex;
+import br.com.fuctura.util.JPAUtils;
+import jakarta.persistence.EntityManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Utilitários compartilhados pelos testes que usam o banco H2 do JPAUtils
+final class TestData {
+
+    private TestData() {
+    }
+
+    static Category category(String name) {
+        return new CategoryDAO().save(new Category(name, "Categoria de teste " + name));
+    }
+
+    static List<Book> books(String prefix, int count, Category category) {
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            books.add(new Book(
+                    prefix + " title " + i,
+                    "Author " + (i % 50),
+                    "Synopsis " + i,
+                    prefix + "-ISBN-" + i,
+                    LocalDate.of(2000 + i % 24, 1, 1),
+                    category));
+        }
+        return books;
+    }
+
+    static long countBooks() {
+        EntityManager em = JPAUtils.getEntityManager();
+        try {
+            return em.createQuery("SELECT COUNT(b) FROM Book b", Long.class).getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+
+    static void deleteAll() {
+        EntityManager em = JPAUtils.getEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.createQuery("DELETE FROM Book").executeUpdate();
+            em.createQuery("DELETE FROM Category").executeUpdate();
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+        // DELETE em massa não passa pelos listeners da entidade
+        InMemoryBookIndex.getInstance().invalidate();
+    }
+}
@@ -0,0 +1,136 @@
+package br.com.fuctura.integration;
+
+import br.com.fuctura.dao.BookDAO;
+import br.com.fuctura.dao.UnitOfWork;
+import br.com.fuctura.entity.Book;
+import br.com.fuctura.entity.Category;
+import br.com.fuctura.util.DbException;
+import br.com.fuctura.util.JPAUtils;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("UnitOfWork (one EntityManager per business operation)")
+class UnitOfWorkTest {
+
+    private static final int OPERATIONS = 200;
+
+    private BookDAO bookDAO;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        TestData.deleteAll();
+        bookDAO = new BookDAO();
+        category = TestData.category("UoW");
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookDAO.close();
+        TestData.deleteAll();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Chamadas dentro da unidade devem compartilhar o mesmo contexto de persistência")
+    void shouldShareThePersistenceContext() {
+        Book saved = bookDAO.save(newBook("shared"));
+
+        UnitOfWork.readOnly(() -> {
+            Book first = bookDAO.findById(saved.getId()).orElseThrow();
+            Book second = bookDAO.findByIsbn(saved.getIsbn()).orElseThrow();
+            assertSame(first, second, "Mesma instância gerenciada dentro da unidade");
+            return null;
+        });
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Exceção no callback deve desfazer todas as escritas da unidade")
+    void shouldRollbackEverythingOnFailure() {
+        assertThrows(IllegalStateException.class, () -> UnitOfWork.inTransaction(() -> {
+            bookDAO.save(newBook("rollback-1"));
+            bookDAO.save(newBook("rollback-2"));
+            throw new IllegalStateException("falha de negócio");
+        }));
+
+        assertEquals(0, TestData.countBooks());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Unidade somente leitura deve rejeitar escritas e unidades aninhadas devem participar da externa")
+    void shouldRejectWritesInReadOnlyUnitAndJoinNestedUnits() {
+        assertThrows(DbException.class, () -> UnitOfWork.readOnly(() -> bookDAO.save(newBook("read-only"))));
+        assertThrows(DbException.class, () -> UnitOfWork.readOnly(() -> UnitOfWork.inTransaction(() -> null)));
+
+        UnitOfWork.inTransaction(() -> {
+            bookDAO.save(newBook("outer"));
+            return UnitOfWork.inTransaction(() -> bookDAO.save(newBook("inner")));
+        });
+        assertEquals(2, TestData.countBooks());
+        assertFalse(UnitOfWork.isActive());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Benchmark: exists + find + delete por chamada vs em uma UnitOfWork")
+    void benchmarkRoundTrips() {
+        Statistics statistics = JPAUtils.getStatistics();
+
+        List<Book> perCall = TestData.books("per-call", OPERATIONS, category);
+        List<Book> inUnit = TestData.books("in-unit", OPERATIONS, category);
+        bookDAO.saveAll(perCall);
+        bookDAO.saveAll(inUnit);
+        JPAUtils.getEntityManagerFactory().getCache().evictAll();
+
+        statistics.clear();
+        long start = System.nanoTime();
+        for (Book book : perCall) {
+            if (bookDAO.existsById(book.getId())) {
+                bookDAO.findById(book.getId());
+                bookDAO.deleteById(book.getId());
+            }
+        }
+        double perCallMillis = (System.nanoTime() - start) / 1_000_000.0;
+        long perCallConnections = statistics.getConnectCount();
+        long perCallTransactions = statistics.getTransactionCount();
+        long perCallStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        start = System.nanoTime();
+        for (Book book : inUnit) {
+            UnitOfWork.inTransaction(() -> {
+                if (bookDAO.existsById(book.getId())) {
+                    bookDAO.findById(book.getId());
+                    bookDAO.deleteById(book.getId());
+                }
+                return null;
+            });
+        }
+        double unitMillis = (System.nanoTime() - start) / 1_000_000.0;
+        long unitConnections = statistics.getConnectCount();
+        long unitTransactions = statistics.getTransactionCount();
+        long unitStatements = statistics.getPrepareStatementCount();
+
+        System.out.printf("📊 Por chamada: %d conexões, %d transações, %d statements, %.1fms%n",
+                perCallConnections, perCallTransactions, perCallStatements, perCallMillis);
+        System.out.printf("📊 UnitOfWork:  %d conexões, %d transações, %d statements, %.1fms%n",
+                unitConnections, unitTransactions, unitStatements, unitMillis);
+
+        assertEquals(0, TestData.countBooks());
+        assertEquals(OPERATIONS, unitConnections, "Uma conexão por operação de negócio");
+        assertTrue(perCallConnections >= 2L * OPERATIONS);
+        assertTrue(unitStatements <= perCallStatements);
+    }
+
+    private Book newBook(String isbn) {
+        return new Book("Title " + isbn, "Author", "Synopsis", isbn, LocalDate.of(2020, 1, 1), category);
+    }
+}